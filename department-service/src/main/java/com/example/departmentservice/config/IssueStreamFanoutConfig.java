@@ -0,0 +1,34 @@
+package com.example.departmentservice.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Every pod binds its own auto-delete queue to the {@code department_issue_stream} fanout exchange, so an
+ * issue ingested by one pod reaches the SSE subscribers connected to any pod.
+ */
+@Configuration
+@ConditionalOnProperty(name = "department.stream.fanout.enabled", havingValue = "true", matchIfMissing = true)
+public class IssueStreamFanoutConfig {
+
+    @Bean
+    public FanoutExchange issueStreamExchange() {
+        return new FanoutExchange(RabbitMQConfig.ISSUE_STREAM_EXCHANGE);
+    }
+
+    @Bean
+    public Queue issueStreamQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding issueStreamBinding(Queue issueStreamQueue, FanoutExchange issueStreamExchange) {
+        return BindingBuilder.bind(issueStreamQueue).to(issueStreamExchange);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.departmentservice.config;
+
+import com.example.departmentservice.instrumentation.QueryInstrumentationFilter;
+import com.example.departmentservice.instrumentation.QueryMetricsListener;
+import com.example.departmentservice.instrumentation.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "department.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor queryInstrumentationDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                                 ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new QueryMetricsListener(meterRegistry.getObject(), slowQueryLog.getObject()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryInstrumentationFilter> queryInstrumentationFilter(
+            MeterRegistry meterRegistry,
+            @Value("${department.instrumentation.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        FilterRegistrationBean<QueryInstrumentationFilter> registration =
+                new FilterRegistrationBean<>(new QueryInstrumentationFilter(meterRegistry, nPlusOneThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -12,6 +12,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
     public static final String ISSUE_CREATED_QUEUE = "issue_created";
+    public static final String ISSUE_DIGEST_QUEUE = "department_issue_digest";
+    public static final String ISSUE_STREAM_EXCHANGE = "department_issue_stream";
 
+    @Bean
+    public Queue issueDigestQueue() {
+        return new Queue(ISSUE_DIGEST_QUEUE, true);
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.departmentservice.config;
+
+import com.example.departmentservice.sharding.ShardRouter;
+import com.example.departmentservice.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single DataSource with one Hikari pool per entry of {@code department.sharding.urls},
+ * behind a {@link ShardRoutingDataSource}. The first URL is shard 0, which also holds every table that
+ * is not department-scoped. Username, password and driver come from {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "department.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final String SHARD_SCHEMA = "db/sharding/shard-schema.sql";
+
+    @Bean
+    public DataSource dataSource(ShardRouter shardRouter, DataSourceProperties dataSourceProperties,
+                                 @Value("${department.sharding.urls}") List<String> shardUrls,
+                                 @Value("${department.sharding.maximum-pool-size:10}") int maximumPoolSize,
+                                 @Value("${department.sharding.initialize-schema:false}") boolean initializeSchema) {
+        Map<Object, Object> shards = new HashMap<>();
+        for (int shard = 0; shard < shardUrls.size(); shard++) {
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(shardUrls.get(shard).trim())
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            // Shard 0 is managed by spring.jpa.hibernate.ddl-auto like the unsharded database.
+            if (initializeSchema && shard > 0) {
+                new ResourceDatabasePopulator(new ClassPathResource(SHARD_SCHEMA)).execute(dataSource);
+            }
+            shards.put(shard, dataSource);
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shardRouter);
+        routingDataSource.setTargetDataSources(shards);
+        routingDataSource.setDefaultTargetDataSource(shards.get(0));
+        return routingDataSource;
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.departmentservice.controller;
 
+import com.example.departmentservice.dto.CanonicalIssueDto;
 import com.example.departmentservice.dto.DepartmentDto;
+import com.example.departmentservice.dto.IssueTileDto;
 import com.example.departmentservice.model.Department;
 import com.example.departmentservice.service.DepartmentIssueService;
 import com.example.departmentservice.service.DepartmentService;
+import com.example.departmentservice.service.IssueListVersionService;
+import com.example.departmentservice.service.IssueTileService;
+import com.example.departmentservice.stream.IssueStreamRegistry;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,10 +25,18 @@ public class DepartmentController {
 
     private final DepartmentService departmentService;
     private final DepartmentIssueService departmentIssueService;
+    private final IssueTileService issueTileService;
+    private final IssueStreamRegistry issueStreamRegistry;
+    private final IssueListVersionService issueListVersionService;
 
-    public DepartmentController(DepartmentService departmentService, DepartmentIssueService departmentIssueService) {
+    public DepartmentController(DepartmentService departmentService, DepartmentIssueService departmentIssueService,
+                                IssueTileService issueTileService, IssueStreamRegistry issueStreamRegistry,
+                                IssueListVersionService issueListVersionService) {
         this.departmentService = departmentService;
         this.departmentIssueService = departmentIssueService;
+        this.issueTileService = issueTileService;
+        this.issueStreamRegistry = issueStreamRegistry;
+        this.issueListVersionService = issueListVersionService;
     }
 
     @GetMapping("/get-all")
@@ -43,8 +59,37 @@ public class DepartmentController {
     }
 
     @GetMapping("/{id}/issues")
-    public List<String> getDepartmentIssues(@PathVariable Long id) {
-        return departmentIssueService.getIssuesForDepartment(id);
+    public ResponseEntity<List<String>> getDepartmentIssues(@PathVariable Long id,
+                                                            @RequestParam(defaultValue = "true") boolean includeDuplicates,
+                                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long version = issueListVersionService.currentVersion(id);
+        String eTag = issueListVersionService.eTag(id, version);
+        if (issueListVersionService.isNotModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(departmentIssueService.getIssuesForDepartment(id, includeDuplicates, version));
+    }
+
+    @GetMapping(path = "/{id}/issues/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDepartmentIssues(@PathVariable Long id,
+                                             @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return issueStreamRegistry.subscribe(id, lastEventId);
+    }
+
+    @GetMapping("/{id}/issues/canonical")
+    public ResponseEntity<List<CanonicalIssueDto>> getCanonicalDepartmentIssues(@PathVariable Long id) {
+        return new ResponseEntity<>(departmentIssueService.getCanonicalIssuesForDepartment(id), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/issues/tiles")
+    public ResponseEntity<IssueTileDto> getDepartmentIssueTile(@PathVariable Long id, @RequestParam int z,
+                                                               @RequestParam int x, @RequestParam int y) {
+        return new ResponseEntity<>(issueTileService.getTileForDepartment(id, z, x, y), HttpStatus.OK);
+    }
+
+    @GetMapping("/issues/tiles")
+    public ResponseEntity<IssueTileDto> getIssueTile(@RequestParam int z, @RequestParam int x, @RequestParam int y) {
+        return new ResponseEntity<>(issueTileService.getTile(z, x, y), HttpStatus.OK);
     }
 
     private Department mapToEntity(DepartmentDto departmentDto, boolean isActiveDefault) {
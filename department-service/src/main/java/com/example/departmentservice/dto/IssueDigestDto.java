@@ -0,0 +1,74 @@
+package com.example.departmentservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Issues ingested for one department since the previous digest, as published to the
+ * {@code department_issue_digest} queue.
+ */
+public class IssueDigestDto {
+    private String digestId;
+    private Long departmentId;
+    private LocalDateTime firstIngestedAt;
+    private LocalDateTime lastIngestedAt;
+    private Integer issueCount;
+    private Integer duplicateCount;
+    private List<IssueDigestEntryDto> issues;
+
+    public String getDigestId() {
+        return digestId;
+    }
+
+    public void setDigestId(String digestId) {
+        this.digestId = digestId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public LocalDateTime getFirstIngestedAt() {
+        return firstIngestedAt;
+    }
+
+    public void setFirstIngestedAt(LocalDateTime firstIngestedAt) {
+        this.firstIngestedAt = firstIngestedAt;
+    }
+
+    public LocalDateTime getLastIngestedAt() {
+        return lastIngestedAt;
+    }
+
+    public void setLastIngestedAt(LocalDateTime lastIngestedAt) {
+        this.lastIngestedAt = lastIngestedAt;
+    }
+
+    public Integer getIssueCount() {
+        return issueCount;
+    }
+
+    public void setIssueCount(Integer issueCount) {
+        this.issueCount = issueCount;
+    }
+
+    public Integer getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public void setDuplicateCount(Integer duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+
+    public List<IssueDigestEntryDto> getIssues() {
+        return issues;
+    }
+
+    public void setIssues(List<IssueDigestEntryDto> issues) {
+        this.issues = issues;
+    }
+}
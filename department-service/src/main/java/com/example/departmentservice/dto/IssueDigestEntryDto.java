@@ -0,0 +1,40 @@
+package com.example.departmentservice.dto;
+
+public class IssueDigestEntryDto {
+    private String issueId;
+    private String canonicalIssueId;
+    private String category;
+    private String status;
+
+    public String getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public String getCanonicalIssueId() {
+        return canonicalIssueId;
+    }
+
+    public void setCanonicalIssueId(String canonicalIssueId) {
+        this.canonicalIssueId = canonicalIssueId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
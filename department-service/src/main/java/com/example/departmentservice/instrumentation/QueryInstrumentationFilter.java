@@ -0,0 +1,87 @@
+package com.example.departmentservice.instrumentation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits each request's time into database, serialization and total time, counts its queries and
+ * warns when the same statement runs often enough within one request to look like an N+1 pattern.
+ */
+public class QueryInstrumentationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryInstrumentationFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryInstrumentationFilter(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.clear();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        long endNanos = System.nanoTime();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        timer("department.request.total", "Total time spent handling the request", uri, method)
+                .record(endNanos - stats.getStartNanos(), TimeUnit.NANOSECONDS);
+        timer("department.request.db", "Time spent in JDBC statements during the request", uri, method)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        long serializationNanos = stats.getSerializationStartNanos() > 0 ? endNanos - stats.getSerializationStartNanos() : 0;
+        timer("department.request.serialization", "Time spent writing the response body", uri, method)
+                .record(serializationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("department.request.queries")
+                .description("Number of JDBC statements executed per request")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(stats.getQueryCount());
+
+        for (Map.Entry<String, Integer> statement : stats.getExecutionsByStatement().entrySet()) {
+            if (statement.getValue() >= nPlusOneThreshold) {
+                Counter.builder("department.request.n_plus_one")
+                        .description("Requests that ran the same statement often enough to suggest an N+1 pattern")
+                        .tag("uri", uri)
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("Possible N+1 on {} {}: statement executed {} times: {}", method, uri, statement.getValue(), statement.getKey());
+            }
+        }
+    }
+
+    private Timer timer(String name, String description, String uri, String method) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
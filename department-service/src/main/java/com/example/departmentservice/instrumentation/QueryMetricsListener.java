@@ -0,0 +1,88 @@
+package com.example.departmentservice.instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement going through the proxied DataSource. Statements are added to the
+ * current request's {@link RequestQueryStats}, and slow ones are kept in the {@link SlowQueryLog}.
+ */
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "startNanos";
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+
+    public QueryMetricsListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = startNanos != null ? System.nanoTime() - startNanos : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+
+        Timer.builder("department.db.queries")
+                .description("JDBC statement execution time")
+                .tag("type", statementType(sql))
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                stats.recordQuery(queryInfo.getQuery(), elapsedNanos / queryInfoList.size());
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (slowQueryLog.isSlow(elapsedMillis)) {
+            String endpoint = stats != null ? stats.getEndpoint() : "background";
+            for (QueryInfo queryInfo : queryInfoList) {
+                slowQueryLog.add(new SlowQueryLog.SlowQuery(LocalDateTime.now(), elapsedMillis, endpoint,
+                        queryInfo.getQuery(), parameters(queryInfo)));
+            }
+        }
+    }
+
+    private static List<String> parameters(QueryInfo queryInfo) {
+        List<String> parameters = new ArrayList<>();
+        for (Map<String, Object> args : queryInfo.getQueryArgsList()) {
+            parameters.add(abbreviate(String.valueOf(args)));
+        }
+        return parameters;
+    }
+
+    private static String abbreviate(String value) {
+        return value.length() <= MAX_PARAMETER_LENGTH ? value : value.substring(0, MAX_PARAMETER_LENGTH) + "...";
+    }
+
+    private static String statementType(String sql) {
+        String trimmed = sql.stripLeading().toLowerCase(Locale.ROOT);
+        for (String type : new String[]{"select", "insert", "update", "delete"}) {
+            if (trimmed.startsWith(type)) {
+                return type;
+            }
+        }
+        return "other";
+    }
+}
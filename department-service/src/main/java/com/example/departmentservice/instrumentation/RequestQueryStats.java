@@ -0,0 +1,100 @@
+package com.example.departmentservice.instrumentation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Query statistics for the HTTP request being handled on the current thread.
+ * Bound by {@link QueryInstrumentationFilter} and filled in by {@link QueryMetricsListener}. Work the
+ * request hands to other threads is counted too when wrapped with {@link #propagate}; its database time
+ * is summed, so with parallel work it can exceed the request's total time.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final String endpoint;
+    private final Map<String, Integer> executionsByStatement = new HashMap<>();
+    private int queryCount;
+    private long dbNanos;
+    private long serializationStartNanos;
+
+    RequestQueryStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    static RequestQueryStats start(String endpoint) {
+        RequestQueryStats stats = new RequestQueryStats(endpoint);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wraps the action so the queries it runs on another thread are counted for the request on this one.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> action) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return action;
+        }
+        return () -> {
+            RequestQueryStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                return action.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    synchronized void recordQuery(String sql, long elapsedNanos) {
+        queryCount++;
+        dbNanos += elapsedNanos;
+        executionsByStatement.merge(sql, 1, Integer::sum);
+    }
+
+    public void markSerializationStart() {
+        if (serializationStartNanos == 0) {
+            serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getSerializationStartNanos() {
+        return serializationStartNanos;
+    }
+
+    synchronized int getQueryCount() {
+        return queryCount;
+    }
+
+    synchronized long getDbNanos() {
+        return dbNanos;
+    }
+
+    synchronized Map<String, Integer> getExecutionsByStatement() {
+        return new HashMap<>(executionsByStatement);
+    }
+}
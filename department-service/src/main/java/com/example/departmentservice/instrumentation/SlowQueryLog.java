@@ -0,0 +1,51 @@
+package com.example.departmentservice.instrumentation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded ring buffer of the most recent queries slower than the configured threshold.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final Deque<SlowQuery> queries = new ArrayDeque<>();
+    private final int capacity;
+    private final long thresholdMillis;
+
+    public SlowQueryLog(@Value("${department.instrumentation.slow-query.capacity:100}") int capacity,
+                        @Value("${department.instrumentation.slow-query.threshold-ms:200}") long thresholdMillis) {
+        this.capacity = capacity;
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    public boolean isSlow(long elapsedMillis) {
+        return elapsedMillis >= thresholdMillis;
+    }
+
+    public synchronized void add(SlowQuery slowQuery) {
+        queries.addLast(slowQuery);
+        while (queries.size() > capacity) {
+            queries.removeFirst();
+        }
+    }
+
+    /**
+     * Most recent first.
+     */
+    public synchronized List<SlowQuery> snapshot() {
+        List<SlowQuery> snapshot = new ArrayList<>(queries.size());
+        queries.descendingIterator().forEachRemaining(snapshot::add);
+        return snapshot;
+    }
+
+    public record SlowQuery(LocalDateTime executedAt, long elapsedMillis, String endpoint, String sql,
+                            List<String> parameters) {
+    }
+}
@@ -13,13 +13,18 @@ public class DepartmentIssue {
 
     private String title;
     private String description;
+    @Convert(converter = IssueCategoryCodeConverter.class)
+    @Column(name = "category_code")
     private String category;
     private String photo_url;
     private String user_id;
     private Double latitude;
     private Double longitude;
+    @Convert(converter = IssueStatusCodeConverter.class)
+    @Column(name = "status_code")
     private String status;
     private LocalDateTime created_at;
+    private Integer duplicate_count;
 
     public DepartmentIssueId getId() {
         return id;
@@ -101,16 +106,24 @@ public class DepartmentIssue {
         this.created_at = created_at;
     }
 
+    public Integer getDuplicate_count() {
+        return duplicate_count;
+    }
+
+    public void setDuplicate_count(Integer duplicate_count) {
+        this.duplicate_count = duplicate_count;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DepartmentIssue that = (DepartmentIssue) o;
-        return Objects.equals(id, that.id) && Objects.equals(title, that.title) && Objects.equals(description, that.description) && Objects.equals(category, that.category) && Objects.equals(photo_url, that.photo_url) && Objects.equals(user_id, that.user_id) && Objects.equals(latitude, that.latitude) && Objects.equals(longitude, that.longitude) && Objects.equals(status, that.status) && Objects.equals(created_at, that.created_at);
+        return Objects.equals(id, that.id) && Objects.equals(title, that.title) && Objects.equals(description, that.description) && Objects.equals(category, that.category) && Objects.equals(photo_url, that.photo_url) && Objects.equals(user_id, that.user_id) && Objects.equals(latitude, that.latitude) && Objects.equals(longitude, that.longitude) && Objects.equals(status, that.status) && Objects.equals(created_at, that.created_at) && Objects.equals(duplicate_count, that.duplicate_count);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, description, category, photo_url, user_id, latitude, longitude, status, created_at);
+        return Objects.hash(id, title, description, category, photo_url, user_id, latitude, longitude, status, created_at, duplicate_count);
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A report of an incident that was already reported, linked to its canonical {@link DepartmentIssue}
+ * instead of being stored as a row of its own.
+ */
+@Entity
+@Table(name = "department_issue_duplicates")
+public class DepartmentIssueDuplicate {
+
+    @EmbeddedId
+    private DepartmentIssueId id;
+
+    private String canonical_issue_id;
+    private String user_id;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime created_at;
+
+    public DepartmentIssueId getId() {
+        return id;
+    }
+
+    public void setId(DepartmentIssueId id) {
+        this.id = id;
+    }
+
+    public String getCanonical_issue_id() {
+        return canonical_issue_id;
+    }
+
+    public void setCanonical_issue_id(String canonical_issue_id) {
+        this.canonical_issue_id = canonical_issue_id;
+    }
+
+    public String getUser_id() {
+        return user_id;
+    }
+
+    public void setUser_id(String user_id) {
+        this.user_id = user_id;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalDateTime getCreated_at() {
+        return created_at;
+    }
+
+    public void setCreated_at(LocalDateTime created_at) {
+        this.created_at = created_at;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DepartmentIssueDuplicate that = (DepartmentIssueDuplicate) o;
+        return Objects.equals(id, that.id) && Objects.equals(canonical_issue_id, that.canonical_issue_id) && Objects.equals(user_id, that.user_id) && Objects.equals(latitude, that.latitude) && Objects.equals(longitude, that.longitude) && Objects.equals(created_at, that.created_at);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, canonical_issue_id, user_id, latitude, longitude, created_at);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Version of a department's issue list, incremented in the same transaction that stores an issue
+ * or a duplicate report. Used as the ETag of {@code GET /departments/{id}/issues}.
+ */
+@Entity
+@Table(name = "department_issue_versions")
+public class DepartmentIssueVersion {
+
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public DepartmentIssueVersion() {
+    }
+
+    public DepartmentIssueVersion(Long departmentId, Long version, LocalDateTime updatedAt) {
+        this.departmentId = departmentId;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DepartmentIssueVersion that = (DepartmentIssueVersion) o;
+        return Objects.equals(departmentId, that.departmentId) && Objects.equals(version, that.version)
+                && Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(departmentId, version, updatedAt);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.departmentservice.model;
+
+import com.example.departmentservice.service.IssueCodeDictionary;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+@Converter
+public class IssueCategoryCodeConverter extends IssueCodeConverter {
+
+    public IssueCategoryCodeConverter(ObjectProvider<IssueCodeDictionary> issueCodeDictionary) {
+        super(IssueCode.CATEGORY, issueCodeDictionary);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+/**
+ * Dictionary entry mapping a category or status string to the {@code smallint} code stored in
+ * {@code department_issues}. Codes are never reused or renumbered.
+ */
+@Entity
+@Table(name = "issue_codes", uniqueConstraints = @UniqueConstraint(columnNames = {"kind", "value"}))
+public class IssueCode {
+
+    public static final String CATEGORY = "category";
+    public static final String STATUS = "status";
+
+    @EmbeddedId
+    private IssueCodeId id;
+
+    @Column(name = "value", nullable = false)
+    private String value;
+
+    public IssueCode() {
+    }
+
+    public IssueCode(IssueCodeId id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    public IssueCodeId getId() {
+        return id;
+    }
+
+    public void setId(IssueCodeId id) {
+        this.id = id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueCode issueCode = (IssueCode) o;
+        return Objects.equals(id, issueCode.id) && Objects.equals(value, issueCode.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, value);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.departmentservice.model;
+
+import com.example.departmentservice.service.IssueCodeDictionary;
+import jakarta.persistence.AttributeConverter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Stores a category or status string as its {@code smallint} dictionary code. Instances are created by
+ * Spring through Hibernate's bean container; the dictionary is looked up lazily because it depends on
+ * the transaction manager, which is built after the entity manager factory that creates converters.
+ * <p>
+ * Writing only looks codes up. Callers register new values with {@link IssueCodeDictionary#encode}
+ * before their transaction starts.
+ */
+abstract class IssueCodeConverter implements AttributeConverter<String, Short> {
+
+    private final String kind;
+    private final ObjectProvider<IssueCodeDictionary> issueCodeDictionary;
+
+    IssueCodeConverter(String kind, ObjectProvider<IssueCodeDictionary> issueCodeDictionary) {
+        this.kind = kind;
+        this.issueCodeDictionary = issueCodeDictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String value) {
+        return issueCodeDictionary.getObject().lookup(kind, value);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return issueCodeDictionary.getObject().decode(kind, code);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class IssueCodeId implements Serializable {
+
+    @Column(name = "kind")
+    private String kind;
+
+    @Column(name = "code")
+    private Short code;
+
+    public IssueCodeId() {
+    }
+
+    public IssueCodeId(String kind, Short code) {
+        this.kind = kind;
+        this.code = code;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public Short getCode() {
+        return code;
+    }
+
+    public void setCode(Short code) {
+        this.code = code;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueCodeId that = (IssueCodeId) o;
+        return Objects.equals(kind, that.kind) && Objects.equals(code, that.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, code);
+    }
+}
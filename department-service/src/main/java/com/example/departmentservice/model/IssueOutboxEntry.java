@@ -0,0 +1,80 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An ingested issue waiting to be relayed in a department digest. Rows are written in the same
+ * transaction as the issue or duplicate they describe and deleted once the digest is confirmed.
+ */
+@Entity
+@Table(name = "issue_outbox")
+public class IssueOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long department_id;
+    private String issue_id;
+    private String canonical_issue_id;
+    private String category;
+    private String status;
+    private LocalDateTime created_at;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDepartment_id() {
+        return department_id;
+    }
+
+    public void setDepartment_id(Long department_id) {
+        this.department_id = department_id;
+    }
+
+    public String getIssue_id() {
+        return issue_id;
+    }
+
+    public void setIssue_id(String issue_id) {
+        this.issue_id = issue_id;
+    }
+
+    public String getCanonical_issue_id() {
+        return canonical_issue_id;
+    }
+
+    public void setCanonical_issue_id(String canonical_issue_id) {
+        this.canonical_issue_id = canonical_issue_id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreated_at() {
+        return created_at;
+    }
+
+    public void setCreated_at(LocalDateTime created_at) {
+        this.created_at = created_at;
+    }
+}
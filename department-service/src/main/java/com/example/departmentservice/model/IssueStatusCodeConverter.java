@@ -0,0 +1,13 @@
+package com.example.departmentservice.model;
+
+import com.example.departmentservice.service.IssueCodeDictionary;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+@Converter
+public class IssueStatusCodeConverter extends IssueCodeConverter {
+
+    public IssueStatusCodeConverter(ObjectProvider<IssueCodeDictionary> issueCodeDictionary) {
+        super(IssueCode.STATUS, issueCodeDictionary);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Records that the tile counts of one zoom level were rebuilt from {@code department_issues}, so
+ * {@code IssueTileBackfill} does not count existing issues again on the next start.
+ */
+@Entity
+@Table(name = "department_issue_tile_backfills")
+public class IssueTileBackfillMark {
+
+    @Id
+    @Column(name = "zoom")
+    private Integer zoom;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public IssueTileBackfillMark() {
+    }
+
+    public IssueTileBackfillMark(Integer zoom, LocalDateTime completedAt) {
+        this.zoom = zoom;
+        this.completedAt = completedAt;
+    }
+
+    public Integer getZoom() {
+        return zoom;
+    }
+
+    public void setZoom(Integer zoom) {
+        this.zoom = zoom;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueTileBackfillMark that = (IssueTileBackfillMark) o;
+        return Objects.equals(zoom, that.zoom) && Objects.equals(completedAt, that.completedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(zoom, completedAt);
+    }
+}
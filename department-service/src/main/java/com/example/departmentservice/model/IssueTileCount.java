@@ -0,0 +1,61 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+/**
+ * Pre-aggregated number of issues in one web-mercator tile for a department,
+ * per category and status. Rows are incremented as issues are ingested. Tile reads are index
+ * lookups on the tile coordinates (with or without the department), so their cost does not
+ * grow with the number of issues.
+ */
+@Entity
+@Table(name = "department_issue_tiles", indexes = {
+        @Index(name = "idx_department_issue_tiles_tile", columnList = "zoom, tile_x, tile_y"),
+        @Index(name = "idx_department_issue_tiles_department_tile", columnList = "department_id, zoom, tile_x, tile_y")
+})
+public class IssueTileCount {
+
+    @EmbeddedId
+    private IssueTileCountId id;
+
+    @Column(name = "issue_count", nullable = false)
+    private Long issueCount;
+
+    public IssueTileCount() {
+    }
+
+    public IssueTileCount(IssueTileCountId id, Long issueCount) {
+        this.id = id;
+        this.issueCount = issueCount;
+    }
+
+    public IssueTileCountId getId() {
+        return id;
+    }
+
+    public void setId(IssueTileCountId id) {
+        this.id = id;
+    }
+
+    public Long getIssueCount() {
+        return issueCount;
+    }
+
+    public void setIssueCount(Long issueCount) {
+        this.issueCount = issueCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueTileCount that = (IssueTileCount) o;
+        return Objects.equals(id, that.id) && Objects.equals(issueCount, that.issueCount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, issueCount);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.departmentservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class IssueTileCountId implements Serializable {
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "zoom")
+    private Integer zoom;
+
+    @Column(name = "tile_x")
+    private Integer tileX;
+
+    @Column(name = "tile_y")
+    private Integer tileY;
+
+    @Column(name = "category")
+    private String category;
+
+    @Column(name = "status")
+    private String status;
+
+    public IssueTileCountId() {
+    }
+
+    public IssueTileCountId(Long departmentId, Integer zoom, Integer tileX, Integer tileY, String category, String status) {
+        this.departmentId = departmentId;
+        this.zoom = zoom;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.category = category;
+        this.status = status;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Integer getZoom() {
+        return zoom;
+    }
+
+    public void setZoom(Integer zoom) {
+        this.zoom = zoom;
+    }
+
+    public Integer getTileX() {
+        return tileX;
+    }
+
+    public void setTileX(Integer tileX) {
+        this.tileX = tileX;
+    }
+
+    public Integer getTileY() {
+        return tileY;
+    }
+
+    public void setTileY(Integer tileY) {
+        this.tileY = tileY;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueTileCountId that = (IssueTileCountId) o;
+        return Objects.equals(departmentId, that.departmentId) && Objects.equals(zoom, that.zoom) && Objects.equals(tileX, that.tileX) && Objects.equals(tileY, that.tileY) && Objects.equals(category, that.category) && Objects.equals(status, that.status);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(departmentId, zoom, tileX, tileY, category, status);
+    }
+}
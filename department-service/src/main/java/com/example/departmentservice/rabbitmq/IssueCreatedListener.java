@@ -2,28 +2,25 @@ package com.example.departmentservice.rabbitmq;
 
 import com.example.departmentservice.config.RabbitMQConfig;
 import com.example.departmentservice.dto.IssueDto;
-import com.example.departmentservice.model.DepartmentIssue;
-import com.example.departmentservice.model.DepartmentIssueId;
-import com.example.departmentservice.repository.DepartmentIssueRepository;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.departmentservice.service.IssueIngestionService;
+import com.example.departmentservice.sharding.ShardRouter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-
-import static java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 
 @Service
 public class IssueCreatedListener {
 
-    private final DepartmentIssueRepository departmentIssueRepository;
+    private final IssueIngestionService issueIngestionService;
+    private final ShardRouter shardRouter;
     private final ObjectMapper objectMapper;
 
-    public IssueCreatedListener(DepartmentIssueRepository departmentIssueRepository, ObjectMapper objectMapper) {
-        this.departmentIssueRepository = departmentIssueRepository;
+    public IssueCreatedListener(IssueIngestionService issueIngestionService, ShardRouter shardRouter,
+                                ObjectMapper objectMapper) {
+        this.issueIngestionService = issueIngestionService;
+        this.shardRouter = shardRouter;
         this.objectMapper = objectMapper;
     }
 
@@ -32,21 +29,8 @@ public class IssueCreatedListener {
         System.out.println("[IssueCreatedListener] Received raw JSON message: " + message);
         try {
             IssueDto issueDto = objectMapper.readValue(message, IssueDto.class);
-
-            DepartmentIssue departmentIssue = new DepartmentIssue();
-            departmentIssue.setId(new DepartmentIssueId(issueDto.getDepartmentId(), issueDto.getId()));
-            departmentIssue.setTitle(issueDto.getTitle());
-            departmentIssue.setDescription(issueDto.getDescription());
-            departmentIssue.setCategory(issueDto.getCategory());
-            departmentIssue.setPhoto_url(issueDto.getPhotoUrl());
-            departmentIssue.setUser_id(issueDto.getUserId());
-            departmentIssue.setLatitude(issueDto.getLatitude());
-            departmentIssue.setLongitude(issueDto.getLongitude());
-            departmentIssue.setStatus(issueDto.getStatus());
-            departmentIssue.setCreated_at(issueDto.getCreatedAt());
-
-            departmentIssueRepository.save(departmentIssue);
-
+            // The shard has to be chosen before the ingestion transaction opens its connection.
+            shardRouter.onShardFor(issueDto.getDepartmentId(), () -> issueIngestionService.ingest(issueDto));
         } catch (IOException e) {
             e.printStackTrace();
         }
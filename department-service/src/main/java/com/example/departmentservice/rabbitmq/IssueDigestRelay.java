@@ -0,0 +1,299 @@
+package com.example.departmentservice.rabbitmq;
+
+import com.example.departmentservice.config.RabbitMQConfig;
+import com.example.departmentservice.dto.IssueDigestDto;
+import com.example.departmentservice.dto.IssueDigestEntryDto;
+import com.example.departmentservice.model.IssueOutboxEntry;
+import com.example.departmentservice.repository.IssueOutboxRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes the {@code issue_outbox} as one digest message per department to the
+ * {@code department_issue_digest} queue. Each run drains the outbox in batches. A batch is locked
+ * with {@code FOR UPDATE SKIP LOCKED}, grouped by department, published with publisher confirms and
+ * deleted in the same transaction, so the digest window is the relay interval.
+ * <p>
+ * The relay runs on its own thread instead of the shared {@code @Scheduled} thread. Waiting for
+ * confirms or for an unreachable broker can take many seconds, and that must not delay SSE heartbeats
+ * or the duplicate index sweep.
+ * <p>
+ * Delivery is at least once: if the broker does not confirm, nothing is deleted and the rows go into
+ * a later digest. A commit that fails after the confirm publishes them again, so consumers should
+ * de-duplicate by issue id.
+ * <p>
+ * After each run the relay records every shard's pending entry count and oldest entry. The age gauge
+ * keeps rising while the broker is unavailable, because the lag timer only records confirmed digests.
+ */
+@Component
+public class IssueDigestRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueDigestRelay.class);
+
+    private final IssueOutboxRepository issueOutboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long confirmTimeoutMillis;
+    private final long digestWindowMillis;
+    private ScheduledExecutorService relayExecutor;
+    private final Timer lag;
+    private final Counter relayedIssues;
+    private final Counter publishedDigests;
+    private final Counter failures;
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, ShardBacklog> backlogs = new ConcurrentHashMap<>();
+
+    public IssueDigestRelay(IssueOutboxRepository issueOutboxRepository, RabbitTemplate rabbitTemplate,
+                            ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${department.outbox.relay.enabled:true}") boolean enabled,
+                            @Value("${department.outbox.batch-size:500}") int batchSize,
+                            @Value("${department.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                            @Value("${department.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                            @Value("${department.outbox.digest-window-ms:30000}") long digestWindowMillis) {
+        this.issueOutboxRepository = issueOutboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.digestWindowMillis = digestWindowMillis;
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("department.outbox.lag")
+                .description("Time from writing an outbox entry to the broker confirming its digest")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.relayedIssues = Counter.builder("department.outbox.issues.relayed")
+                .description("Outbox entries published in a confirmed digest")
+                .register(meterRegistry);
+        this.publishedDigests = Counter.builder("department.outbox.digests.published")
+                .description("Digest messages confirmed by the broker")
+                .register(meterRegistry);
+        this.failures = Counter.builder("department.outbox.relay.failures")
+                .description("Relay batches left in the outbox because publishing or confirming failed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || relayExecutor != null) {
+            return;
+        }
+        relayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "issue-digest-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relayExecutor.scheduleWithFixedDelay(this::relayDigests, digestWindowMillis, digestWindowMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lets a running batch finish, so its confirmed digests are also removed from the outbox.
+     */
+    @PreDestroy
+    public synchronized void shutdown() throws InterruptedException {
+        if (relayExecutor != null) {
+            relayExecutor.shutdown();
+            if (!relayExecutor.awaitTermination(confirmTimeoutMillis * 2, TimeUnit.MILLISECONDS)) {
+                relayExecutor.shutdownNow();
+            }
+            relayExecutor = null;
+        }
+    }
+
+    private void relayDigests() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            // A failed run must not cancel the schedule; the entries are retried next window.
+            failures.increment();
+            log.warn("Issue digest relay run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relays every shard's outbox and returns the number of entries published. Shards are relayed one
+     * after another on the calling thread, so waiting for confirms never holds a scatter thread.
+     */
+    public long relay() {
+        List<ShardRun> runs = shardRouter.onEachShard(this::relayCurrentShard);
+        long relayed = 0;
+        for (int shard = 0; shard < runs.size(); shard++) {
+            ShardRun run = runs.get(shard);
+            relayed += run.relayed();
+            if (run.backlogKnown()) {
+                ShardBacklog backlog = backlog(shard);
+                backlog.pending().set(run.pending());
+                backlog.oldest().set(run.oldest());
+            }
+        }
+        return relayed;
+    }
+
+    private ShardRun relayCurrentShard() {
+        long relayed = drainCurrentShard();
+        try {
+            return new ShardRun(relayed, true, issueOutboxRepository.count(), issueOutboxRepository.findOldestCreatedAt());
+        } catch (RuntimeException e) {
+            log.warn("Could not read the issue outbox backlog: {}", e.getMessage());
+            return new ShardRun(relayed, false, 0, null);
+        }
+    }
+
+    private long drainCurrentShard() {
+        long relayed = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int batchRelayed;
+            try {
+                batchRelayed = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Issue digest relay failed; entries stay in the outbox for the next run: {}", e.getMessage());
+                break;
+            }
+            relayed += batchRelayed;
+            if (batchRelayed < batchSize) {
+                break;
+            }
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<IssueOutboxEntry> entries = issueOutboxRepository.lockPending(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<IssueOutboxEntry>> byDepartment = new LinkedHashMap<>();
+        for (IssueOutboxEntry entry : entries) {
+            byDepartment.computeIfAbsent(entry.getDepartment_id(), id -> new ArrayList<>()).add(entry);
+        }
+        List<Message> messages = new ArrayList<>(byDepartment.size());
+        for (List<IssueOutboxEntry> departmentEntries : byDepartment.values()) {
+            messages.add(toMessage(toDigest(departmentEntries)));
+        }
+
+        rabbitTemplate.invoke(operations -> {
+            for (Message message : messages) {
+                operations.send("", RabbitMQConfig.ISSUE_DIGEST_QUEUE, message);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+        issueOutboxRepository.deleteAllByIdInBatch(entries.stream().map(IssueOutboxEntry::getId).toList());
+
+        LocalDateTime confirmedAt = LocalDateTime.now();
+        for (IssueOutboxEntry entry : entries) {
+            if (entry.getCreated_at() != null) {
+                lag.record(Duration.between(entry.getCreated_at(), confirmedAt));
+            }
+        }
+        relayedIssues.increment(entries.size());
+        publishedDigests.increment(messages.size());
+        return entries.size();
+    }
+
+    private IssueDigestDto toDigest(List<IssueOutboxEntry> entries) {
+        IssueOutboxEntry first = entries.get(0);
+        IssueOutboxEntry last = entries.get(entries.size() - 1);
+        List<IssueDigestEntryDto> issues = new ArrayList<>(entries.size());
+        int duplicateCount = 0;
+        for (IssueOutboxEntry entry : entries) {
+            IssueDigestEntryDto issue = new IssueDigestEntryDto();
+            issue.setIssueId(entry.getIssue_id());
+            issue.setCanonicalIssueId(entry.getCanonical_issue_id());
+            issue.setCategory(entry.getCategory());
+            issue.setStatus(entry.getStatus());
+            issues.add(issue);
+            if (entry.getCanonical_issue_id() != null) {
+                duplicateCount++;
+            }
+        }
+        IssueDigestDto digest = new IssueDigestDto();
+        digest.setDigestId(first.getDepartment_id() + "-" + first.getId() + "-" + last.getId());
+        digest.setDepartmentId(first.getDepartment_id());
+        digest.setFirstIngestedAt(first.getCreated_at());
+        digest.setLastIngestedAt(last.getCreated_at());
+        digest.setIssueCount(entries.size() - duplicateCount);
+        digest.setDuplicateCount(duplicateCount);
+        digest.setIssues(issues);
+        return digest;
+    }
+
+    private ShardBacklog backlog(int shard) {
+        return backlogs.computeIfAbsent(shard, s -> {
+            ShardBacklog backlog = new ShardBacklog(new AtomicLong(), new AtomicReference<>());
+            Gauge.builder("department.outbox.pending", backlog.pending(), AtomicLong::get)
+                    .description("Outbox entries left after the last relay run")
+                    .tag("shard", String.valueOf(s))
+                    .register(meterRegistry);
+            TimeGauge.builder("department.outbox.oldest.age", backlog.oldest(), TimeUnit.MILLISECONDS,
+                            oldest -> oldest.get() == null ? 0
+                                    : Duration.between(oldest.get(), LocalDateTime.now()).toMillis())
+                    .description("Age of the oldest outbox entry left after the last relay run")
+                    .tag("shard", String.valueOf(s))
+                    .register(meterRegistry);
+            return backlog;
+        });
+    }
+
+    private Message toMessage(IssueDigestDto digest) {
+        try {
+            return MessageBuilder.withBody(objectMapper.writeValueAsBytes(digest))
+                    .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                    .setMessageId(digest.getDigestId())
+                    .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize digest " + digest.getDigestId(), e);
+        }
+    }
+
+    private record ShardRun(long relayed, boolean backlogKnown, long pending, LocalDateTime oldest) {
+    }
+
+    private record ShardBacklog(AtomicLong pending, AtomicReference<LocalDateTime> oldest) {
+    }
+}
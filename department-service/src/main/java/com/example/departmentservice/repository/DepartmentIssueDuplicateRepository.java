@@ -0,0 +1,11 @@
+package com.example.departmentservice.repository;
+
+import com.example.departmentservice.model.DepartmentIssueDuplicate;
+import com.example.departmentservice.model.DepartmentIssueId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface DepartmentIssueDuplicateRepository extends JpaRepository<DepartmentIssueDuplicate, DepartmentIssueId> {
+
+    List<DepartmentIssueDuplicate> findByIdDepartmentId(Long departmentId);
+}
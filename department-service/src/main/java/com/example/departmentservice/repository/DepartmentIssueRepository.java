@@ -3,9 +3,17 @@ package com.example.departmentservice.repository;
 import com.example.departmentservice.model.DepartmentIssue;
 import com.example.departmentservice.model.DepartmentIssueId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface DepartmentIssueRepository extends JpaRepository<DepartmentIssue, DepartmentIssueId> {
 
     List<DepartmentIssue> findByIdDepartmentId(Long departmentId);
+
+    @Modifying
+    @Query("UPDATE DepartmentIssue i SET i.duplicate_count = COALESCE(i.duplicate_count, 0) + 1 "
+            + "WHERE i.id.departmentId = :departmentId AND i.id.issueId = :issueId")
+    int incrementDuplicateCount(@Param("departmentId") Long departmentId, @Param("issueId") String issueId);
 }
@@ -0,0 +1,26 @@
+package com.example.departmentservice.repository;
+
+import com.example.departmentservice.model.DepartmentIssueVersion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DepartmentIssueVersionRepository extends JpaRepository<DepartmentIssueVersion, Long> {
+
+    List<DepartmentIssueVersion> findByOrderByUpdatedAtDesc(Limit limit);
+
+    @Query("SELECT v.version FROM DepartmentIssueVersion v WHERE v.departmentId = :departmentId")
+    Optional<Long> findVersionByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Modifying
+    @Query(value = "INSERT INTO department_issue_versions (department_id, version, updated_at) "
+            + "VALUES (:departmentId, 1, now()) "
+            + "ON CONFLICT (department_id) "
+            + "DO UPDATE SET version = department_issue_versions.version + 1, updated_at = now()", nativeQuery = true)
+    void incrementVersion(@Param("departmentId") Long departmentId);
+}
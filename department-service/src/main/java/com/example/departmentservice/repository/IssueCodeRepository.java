@@ -0,0 +1,25 @@
+package com.example.departmentservice.repository;
+
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.model.IssueCodeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface IssueCodeRepository extends JpaRepository<IssueCode, IssueCodeId> {
+
+    List<IssueCode> findByIdKind(String kind);
+
+    /**
+     * Assigns the next free code of the kind to the value. Does nothing if the value already has a code
+     * or a concurrent insert took the same code; callers re-read the dictionary afterwards.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO issue_codes (kind, code, value) "
+            + "SELECT :kind, COALESCE(MAX(code), 0) + 1, :value FROM issue_codes WHERE kind = :kind "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertNextCode(@Param("kind") String kind, @Param("value") String value);
+}
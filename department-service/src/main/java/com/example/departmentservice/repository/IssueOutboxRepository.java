@@ -0,0 +1,22 @@
+package com.example.departmentservice.repository;
+
+import com.example.departmentservice.model.IssueOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IssueOutboxRepository extends JpaRepository<IssueOutboxEntry, Long> {
+
+    /**
+     * Oldest pending entries, locked until the calling transaction ends. Rows already locked by another
+     * relay are skipped, so several pods can relay the same outbox without publishing an entry twice.
+     */
+    @Query(value = "SELECT * FROM issue_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<IssueOutboxEntry> lockPending(@Param("limit") int limit);
+
+    @Query("SELECT min(e.created_at) FROM IssueOutboxEntry e")
+    LocalDateTime findOldestCreatedAt();
+}
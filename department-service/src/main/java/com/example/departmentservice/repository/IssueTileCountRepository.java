@@ -0,0 +1,26 @@
+package com.example.departmentservice.repository;
+
+import com.example.departmentservice.model.IssueTileCount;
+import com.example.departmentservice.model.IssueTileCountId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface IssueTileCountRepository extends JpaRepository<IssueTileCount, IssueTileCountId> {
+
+    List<IssueTileCount> findByIdDepartmentIdAndIdZoomAndIdTileXAndIdTileY(Long departmentId, Integer zoom, Integer tileX, Integer tileY);
+
+    List<IssueTileCount> findByIdZoomAndIdTileXAndIdTileY(Integer zoom, Integer tileX, Integer tileY);
+
+    @Modifying
+    @Query(value = "INSERT INTO department_issue_tiles (department_id, zoom, tile_x, tile_y, category, status, issue_count) "
+            + "VALUES (:departmentId, :zoom, :tileX, :tileY, :category, :status, 1) "
+            + "ON CONFLICT (department_id, zoom, tile_x, tile_y, category, status) "
+            + "DO UPDATE SET issue_count = department_issue_tiles.issue_count + 1", nativeQuery = true)
+    void incrementTileCount(@Param("departmentId") Long departmentId, @Param("zoom") Integer zoom,
+                            @Param("tileX") Integer tileX, @Param("tileY") Integer tileY,
+                            @Param("category") String category, @Param("status") String status);
+}
@@ -1,8 +1,14 @@
 package com.example.departmentservice.service;
 
+import com.example.departmentservice.dto.CanonicalIssueDto;
 import com.example.departmentservice.model.DepartmentIssue;
+import com.example.departmentservice.model.DepartmentIssueDuplicate;
+import com.example.departmentservice.repository.DepartmentIssueDuplicateRepository;
 import com.example.departmentservice.repository.DepartmentIssueRepository;
+import com.example.departmentservice.sharding.ShardRouter;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -10,15 +16,63 @@ import java.util.stream.Collectors;
 public class DepartmentIssueService {
 
     private final DepartmentIssueRepository departmentIssueRepository;
+    private final DepartmentIssueDuplicateRepository departmentIssueDuplicateRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final ShardRouter shardRouter;
 
-    public DepartmentIssueService(DepartmentIssueRepository departmentIssueRepository) {
+    public DepartmentIssueService(DepartmentIssueRepository departmentIssueRepository,
+                                  DepartmentIssueDuplicateRepository departmentIssueDuplicateRepository,
+                                  RequestCoalescer requestCoalescer, ShardRouter shardRouter) {
         this.departmentIssueRepository = departmentIssueRepository;
+        this.departmentIssueDuplicateRepository = departmentIssueDuplicateRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.shardRouter = shardRouter;
     }
 
-    public List<String> getIssuesForDepartment(Long departmentId) {
+    /**
+     * Issue list for a response tagged with {@code listVersion}. The version is part of the coalescing
+     * key, so the caller only joins loads started by callers that had already seen that version. The
+     * list is therefore never older than the version it is tagged with.
+     */
+    public List<String> getIssuesForDepartment(Long departmentId, boolean includeDuplicates, long listVersion) {
+        return requestCoalescer.execute("getIssuesForDepartment",
+                () -> shardRouter.onShardFor(departmentId, () -> loadIssuesForDepartment(departmentId, includeDuplicates)),
+                departmentId, includeDuplicates, listVersion);
+    }
+
+    public List<CanonicalIssueDto> getCanonicalIssuesForDepartment(Long departmentId) {
+        return requestCoalescer.execute("getCanonicalIssuesForDepartment",
+                () -> shardRouter.onShardFor(departmentId, () -> loadCanonicalIssuesForDepartment(departmentId)),
+                departmentId);
+    }
+
+    private List<String> loadIssuesForDepartment(Long departmentId, boolean includeDuplicates) {
         List<DepartmentIssue> departmentIssues = departmentIssueRepository.findByIdDepartmentId(departmentId);
-        return departmentIssues.stream()
+        List<String> issueIds = departmentIssues.stream()
                 .map(departmentIssue -> departmentIssue.getId().getIssueId())
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (includeDuplicates) {
+            for (DepartmentIssueDuplicate duplicate : departmentIssueDuplicateRepository.findByIdDepartmentId(departmentId)) {
+                issueIds.add(duplicate.getId().getIssueId());
+            }
+        }
+        return Collections.unmodifiableList(issueIds);
+    }
+
+    private List<CanonicalIssueDto> loadCanonicalIssuesForDepartment(Long departmentId) {
+        return departmentIssueRepository.findByIdDepartmentId(departmentId).stream()
+                .map(this::toCanonicalIssueDto)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private CanonicalIssueDto toCanonicalIssueDto(DepartmentIssue departmentIssue) {
+        CanonicalIssueDto canonicalIssueDto = new CanonicalIssueDto();
+        canonicalIssueDto.setIssueId(departmentIssue.getId().getIssueId());
+        canonicalIssueDto.setTitle(departmentIssue.getTitle());
+        canonicalIssueDto.setCategory(departmentIssue.getCategory());
+        canonicalIssueDto.setStatus(departmentIssue.getStatus());
+        canonicalIssueDto.setCreatedAt(departmentIssue.getCreated_at());
+        canonicalIssueDto.setDuplicateCount(departmentIssue.getDuplicate_count() != null ? departmentIssue.getDuplicate_count() : 0);
+        return canonicalIssueDto;
     }
 }
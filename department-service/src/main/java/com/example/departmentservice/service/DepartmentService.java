@@ -14,9 +14,11 @@ import java.util.List;
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final RequestCoalescer requestCoalescer;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, RequestCoalescer requestCoalescer) {
         this.departmentRepository = departmentRepository;
+        this.requestCoalescer = requestCoalescer;
     }
 
     public List<Department> getAllDepartments() {
@@ -29,6 +31,10 @@ public class DepartmentService {
     }
 
     public Department getDepartmentById(Long id) {
+        return requestCoalescer.execute("getDepartmentById", () -> loadDepartmentById(id), id);
+    }
+
+    private Department loadDepartmentById(Long id) {
         Optional<Department> departmentOptional = departmentRepository.findById(id);
         if (departmentOptional.isPresent()) {
             return departmentOptional.get();
@@ -0,0 +1,144 @@
+package com.example.departmentservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window index of recently ingested issues, bucketed by department, category and geohash cell.
+ * A new report is a duplicate when an indexed issue of the same department and category lies within
+ * the distance threshold and was reported within the time window. The geohash precision must give
+ * cells at least as large as the distance threshold, since only the report's own cell and its eight
+ * neighbours are searched.
+ * <p>
+ * The index lives in memory only: it starts empty after a restart and is not shared between pods.
+ */
+@Component
+public class DuplicateIssueIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private final Map<CellKey, Deque<IndexedIssue>> cells = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final double maxDistanceMeters;
+    private final Duration window;
+    private final int geohashPrecision;
+    private final int maxIssuesPerCell;
+    private final Counter duplicatesDetected;
+
+    public DuplicateIssueIndex(MeterRegistry meterRegistry,
+                               @Value("${department.duplicates.enabled:true}") boolean enabled,
+                               @Value("${department.duplicates.max-distance-meters:50}") double maxDistanceMeters,
+                               @Value("${department.duplicates.window-minutes:15}") long windowMinutes,
+                               @Value("${department.duplicates.geohash-precision:7}") int geohashPrecision,
+                               @Value("${department.duplicates.max-issues-per-cell:100}") int maxIssuesPerCell) {
+        this.enabled = enabled;
+        this.maxDistanceMeters = maxDistanceMeters;
+        this.window = Duration.ofMinutes(windowMinutes);
+        this.geohashPrecision = geohashPrecision;
+        this.maxIssuesPerCell = maxIssuesPerCell;
+        this.duplicatesDetected = Counter.builder("department.duplicates.detected")
+                .description("Issue reports linked to an existing canonical issue instead of being stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the id of the canonical issue the report duplicates, or {@code null} if it is a new incident.
+     */
+    public String findCanonicalIssueId(Long departmentId, String category, Double latitude, Double longitude,
+                                       LocalDateTime reportedAt) {
+        if (!enabled || latitude == null || longitude == null) {
+            return null;
+        }
+        LocalDateTime at = reportedAtOrNow(reportedAt);
+        IndexedIssue closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (String cell : Geohash.cellAndNeighbours(latitude, longitude, geohashPrecision)) {
+            Deque<IndexedIssue> issues = cells.get(new CellKey(departmentId, category, cell));
+            if (issues == null) {
+                continue;
+            }
+            synchronized (issues) {
+                for (IndexedIssue issue : issues) {
+                    if (Duration.between(issue.reportedAt(), at).abs().compareTo(window) > 0) {
+                        continue;
+                    }
+                    double distance = distanceMeters(latitude, longitude, issue.latitude(), issue.longitude());
+                    if (distance <= maxDistanceMeters && distance < closestDistance) {
+                        closest = issue;
+                        closestDistance = distance;
+                    }
+                }
+            }
+        }
+        if (closest == null) {
+            return null;
+        }
+        duplicatesDetected.increment();
+        return closest.issueId();
+    }
+
+    public void register(Long departmentId, String issueId, String category, Double latitude, Double longitude,
+                         LocalDateTime reportedAt) {
+        if (!enabled || latitude == null || longitude == null) {
+            return;
+        }
+        CellKey key = new CellKey(departmentId, category, Geohash.encode(latitude, longitude, geohashPrecision));
+        IndexedIssue indexedIssue = new IndexedIssue(issueId, latitude, longitude, reportedAtOrNow(reportedAt));
+        cells.compute(key, (k, issues) -> {
+            Deque<IndexedIssue> cellIssues = issues != null ? issues : new ArrayDeque<>();
+            synchronized (cellIssues) {
+                cellIssues.addLast(indexedIssue);
+                while (cellIssues.size() > maxIssuesPerCell) {
+                    cellIssues.removeFirst();
+                }
+            }
+            return cellIssues;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${department.duplicates.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(window);
+        for (CellKey key : cells.keySet()) {
+            cells.computeIfPresent(key, (k, issues) -> {
+                synchronized (issues) {
+                    issues.removeIf(issue -> issue.reportedAt().isBefore(cutoff));
+                    return issues.isEmpty() ? null : issues;
+                }
+            });
+        }
+    }
+
+    private static LocalDateTime reportedAtOrNow(LocalDateTime reportedAt) {
+        return reportedAt != null ? reportedAt : LocalDateTime.now();
+    }
+
+    private static double distanceMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeDelta = Math.toRadians(latitude2 - latitude1);
+        double longitudeDelta = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+
+    private record CellKey(Long departmentId, String category, String geohash) {
+        private CellKey {
+            category = Objects.requireNonNullElse(category, "");
+        }
+    }
+
+    private record IndexedIssue(String issueId, double latitude, double longitude, LocalDateTime reportedAt) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.departmentservice.service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Minimal geohash encoder. Neighbouring cells are found by re-encoding points one cell
+ * width/height away from the cell centre, which also handles wrapping at the antimeridian.
+ */
+public final class Geohash {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLatitude = -90, maxLatitude = 90;
+        double minLongitude = -180, maxLongitude = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double middle = (minLongitude + maxLongitude) / 2;
+                if (longitude >= middle) {
+                    index = index * 2 + 1;
+                    minLongitude = middle;
+                } else {
+                    index = index * 2;
+                    maxLongitude = middle;
+                }
+            } else {
+                double middle = (minLatitude + maxLatitude) / 2;
+                if (latitude >= middle) {
+                    index = index * 2 + 1;
+                    minLatitude = middle;
+                } else {
+                    index = index * 2;
+                    maxLatitude = middle;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(index));
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * The cell containing the point plus its eight neighbours.
+     */
+    public static Set<String> cellAndNeighbours(double latitude, double longitude, int precision) {
+        double cellHeight = 180.0 / (1L << latitudeBits(precision));
+        double cellWidth = 360.0 / (1L << longitudeBits(precision));
+        String cell = encode(latitude, longitude, precision);
+        double[] centre = centre(cell, cellHeight, cellWidth);
+
+        Set<String> cells = new LinkedHashSet<>();
+        cells.add(cell);
+        for (int latitudeStep = -1; latitudeStep <= 1; latitudeStep++) {
+            for (int longitudeStep = -1; longitudeStep <= 1; longitudeStep++) {
+                double neighbourLatitude = centre[0] + latitudeStep * cellHeight;
+                if (neighbourLatitude < -90 || neighbourLatitude > 90) {
+                    continue;
+                }
+                double neighbourLongitude = wrapLongitude(centre[1] + longitudeStep * cellWidth);
+                cells.add(encode(neighbourLatitude, neighbourLongitude, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static double[] centre(String cell, double cellHeight, double cellWidth) {
+        double minLatitude = -90, minLongitude = -180;
+        double latitudeSpan = 180, longitudeSpan = 360;
+        boolean evenBit = true;
+        for (char c : cell.toCharArray()) {
+            int index = BASE32.indexOf(c);
+            for (int shift = 4; shift >= 0; shift--) {
+                boolean set = ((index >> shift) & 1) == 1;
+                if (evenBit) {
+                    longitudeSpan /= 2;
+                    if (set) {
+                        minLongitude += longitudeSpan;
+                    }
+                } else {
+                    latitudeSpan /= 2;
+                    if (set) {
+                        minLatitude += latitudeSpan;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[]{minLatitude + cellHeight / 2, minLongitude + cellWidth / 2};
+    }
+
+    private static int latitudeBits(int precision) {
+        return (precision * 5) / 2;
+    }
+
+    private static int longitudeBits(int precision) {
+        return (precision * 5 + 1) / 2;
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves the legacy free-text {@code category}/{@code status} columns of {@code department_issues} into
+ * the dictionary-encoded {@code category_code}/{@code status_code} columns and clears the legacy values.
+ * Rows are walked in primary-key order, one transaction per batch, so the migration can run next to
+ * ingestion and resume after a restart. Once it reports nothing left to do, the legacy columns can be
+ * dropped.
+ * <p>
+ * Reads only see the code columns, so the backfill runs before the service reports ready (and before
+ * the warm-up). A failure stops startup rather than serving issues without category and status.
+ */
+@Component
+@Order(0)
+public class IssueCodeBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueCodeBackfill.class);
+
+    private static final String LEGACY_COLUMNS =
+            "SELECT count(*) FROM information_schema.columns WHERE table_schema = current_schema() "
+                    + "AND table_name = 'department_issues' AND column_name IN ('category', 'status')";
+    private static final String NEXT_BATCH =
+            "SELECT department_id, issue_id, category, status FROM department_issues "
+                    + "WHERE (department_id, issue_id) > (?, ?) ORDER BY department_id, issue_id LIMIT ?";
+    private static final String MIGRATE_ROW =
+            "UPDATE department_issues SET category_code = COALESCE(?, category_code), "
+                    + "status_code = COALESCE(?, status_code), category = NULL, status = NULL "
+                    + "WHERE department_id = ? AND issue_id = ?";
+    private static final int[] MIGRATE_ROW_TYPES = {Types.SMALLINT, Types.SMALLINT, Types.BIGINT, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IssueCodeDictionary issueCodeDictionary;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter migratedRows;
+
+    public IssueCodeBackfill(JdbcTemplate jdbcTemplate, IssueCodeDictionary issueCodeDictionary,
+                             ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${department.issue-codes.backfill.enabled:true}") boolean enabled,
+                             @Value("${department.issue-codes.backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.issueCodeDictionary = issueCodeDictionary;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.migratedRows = Counter.builder("department.issue_codes.backfilled")
+                .description("department_issues rows moved from text to dictionary-encoded category/status")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            log.error("Issue code backfill stopped; it resumes on the next start", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Migrates every shard and returns the number of rows changed.
+     */
+    public long backfill() {
+        long migrated = shardRouter.onAllShards(this::backfillCurrentShard).stream().mapToLong(Long::longValue).sum();
+        if (migrated > 0) {
+            log.info("Issue code backfill migrated {} rows", migrated);
+        }
+        return migrated;
+    }
+
+    private long backfillCurrentShard() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMNS, Integer.class);
+        if (legacyColumns == null || legacyColumns < 2) {
+            return 0;
+        }
+        long migrated = 0;
+        long lastDepartmentId = Long.MIN_VALUE;
+        String lastIssueId = "";
+        while (true) {
+            List<LegacyRow> rows = jdbcTemplate.query(NEXT_BATCH, (resultSet, rowNumber) -> new LegacyRow(
+                    resultSet.getLong("department_id"), resultSet.getString("issue_id"),
+                    resultSet.getString("category"), resultSet.getString("status")),
+                    lastDepartmentId, lastIssueId, batchSize);
+            if (rows.isEmpty()) {
+                return migrated;
+            }
+            List<Object[]> updates = new ArrayList<>();
+            for (LegacyRow row : rows) {
+                if (row.category() != null || row.status() != null) {
+                    updates.add(new Object[]{
+                            issueCodeDictionary.encode(IssueCode.CATEGORY, row.category()),
+                            issueCodeDictionary.encode(IssueCode.STATUS, row.status()),
+                            row.departmentId(), row.issueId()});
+                }
+            }
+            if (!updates.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(MIGRATE_ROW, updates, MIGRATE_ROW_TYPES));
+                migrated += updates.size();
+                migratedRows.increment(updates.size());
+            }
+            LegacyRow last = rows.get(rows.size() - 1);
+            lastDepartmentId = last.departmentId();
+            lastIssueId = last.issueId();
+        }
+    }
+
+    private record LegacyRow(long departmentId, String issueId, String category, String status) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.repository.IssueCodeRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * In-memory copy of {@code issue_codes}, the dictionary behind the {@code smallint} category and status
+ * columns of {@code department_issues}. Unknown values get the next free code on first use.
+ * <p>
+ * The dictionary lives on shard 0 and is always read and written in a transaction of its own, so a code
+ * handed out during an ingestion that later rolls back still exists for the next caller.
+ * <p>
+ * Decoding never touches the database on the caller's thread. Hibernate decodes while it fills in
+ * entities inside a read transaction that already holds a connection, and a second connection per
+ * reader can exhaust the pool when many readers miss a new code at once. Codes assigned by other pods
+ * are picked up by a refresh every {@code department.issue-codes.refresh-interval-ms}; a reader that
+ * misses one waits for a refresh on the dictionary's own thread, so at most one extra connection is in
+ * use however many readers miss.
+ */
+@Component
+public class IssueCodeDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueCodeDictionary.class);
+    private static final int MAX_INSERT_ATTEMPTS = 5;
+    private static final List<String> KINDS = List.of(IssueCode.CATEGORY, IssueCode.STATUS);
+
+    private final IssueCodeRepository issueCodeRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, Map<String, Short>> codesByKind = new ConcurrentHashMap<>();
+    private final Map<String, Map<Short, String>> valuesByKind = new ConcurrentHashMap<>();
+    private final long refreshIntervalMillis;
+    private final long missWaitMillis;
+    private final ScheduledExecutorService refreshExecutor;
+    private final Object refreshLock = new Object();
+    private CompletableFuture<Void> queuedRefresh;
+    private boolean refreshScheduled;
+
+    public IssueCodeDictionary(IssueCodeRepository issueCodeRepository, ShardRouter shardRouter,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${department.issue-codes.refresh-interval-ms:10000}") long refreshIntervalMillis,
+                               @Value("${department.issue-codes.miss-wait-ms:2000}") long missWaitMillis) {
+        this.issueCodeRepository = issueCodeRepository;
+        this.shardRouter = shardRouter;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.missWaitMillis = missWaitMillis;
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "issue-code-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        synchronized (refreshLock) {
+            if (refreshScheduled) {
+                return;
+            }
+            refreshScheduled = true;
+        }
+        refreshExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                refreshAll();
+            } catch (RuntimeException e) {
+                // A failed refresh must not cancel the schedule; misses still trigger their own.
+                log.warn("Issue code dictionary refresh failed: {}", e.getMessage());
+            }
+        }, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public Short encode(String kind, String value) {
+        if (value == null) {
+            return null;
+        }
+        Short code = codes(kind).get(value);
+        return code != null ? code : assignCode(kind, value);
+    }
+
+    /**
+     * Code of a value already registered through {@link #encode}. The JPA converters use this while
+     * Hibernate flushes, where assigning a new code would start a second transaction on shard 0.
+     */
+    public Short lookup(String kind, String value) {
+        if (value == null) {
+            return null;
+        }
+        Short code = codes(kind).get(value);
+        if (code == null) {
+            throw new IllegalStateException("No " + kind + " code for '" + value + "'; encode it before saving");
+        }
+        return code;
+    }
+
+    public String decode(String kind, Short code) {
+        if (code == null) {
+            return null;
+        }
+        String value = values(kind).get(code);
+        if (value == null) {
+            // Assigned by another pod since the last refresh.
+            awaitRefresh();
+            value = values(kind).get(code);
+        }
+        if (value == null) {
+            throw new IllegalStateException("Unknown " + kind + " code " + code);
+        }
+        return value;
+    }
+
+    /**
+     * Reloads every kind on the calling thread. For callers that are not inside a transaction, such as
+     * a backfill that is about to decode many codes.
+     */
+    public void refreshAll() {
+        for (String kind : KINDS) {
+            reload(kind);
+        }
+    }
+
+    /**
+     * Waits for a refresh that starts after this call, so it sees every code committed before the row
+     * the caller is decoding. Concurrent misses share the same queued refresh.
+     */
+    private void awaitRefresh() {
+        CompletableFuture<Void> refresh;
+        synchronized (refreshLock) {
+            if (queuedRefresh == null) {
+                CompletableFuture<Void> queued = new CompletableFuture<>();
+                queuedRefresh = queued;
+                refreshExecutor.execute(() -> {
+                    synchronized (refreshLock) {
+                        queuedRefresh = null;
+                    }
+                    try {
+                        refreshAll();
+                        queued.complete(null);
+                    } catch (RuntimeException e) {
+                        queued.completeExceptionally(e);
+                    }
+                });
+            }
+            refresh = queuedRefresh;
+        }
+        try {
+            refresh.get(missWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Issue code dictionary refresh did not finish within {} ms", missWaitMillis);
+        } catch (ExecutionException e) {
+            log.warn("Issue code dictionary refresh failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized Short assignCode(String kind, String value) {
+        for (int attempt = 0; attempt < MAX_INSERT_ATTEMPTS; attempt++) {
+            reload(kind);
+            Short code = codes(kind).get(value);
+            if (code != null) {
+                return code;
+            }
+            shardRouter.onDefaultShard(() -> newTransaction.execute(status ->
+                    issueCodeRepository.insertNextCode(kind, value)));
+        }
+        reload(kind);
+        Short code = codes(kind).get(value);
+        if (code == null) {
+            throw new IllegalStateException("Could not assign a " + kind + " code to '" + value + "'");
+        }
+        return code;
+    }
+
+    private void reload(String kind) {
+        List<IssueCode> entries = shardRouter.onDefaultShard(() -> newTransaction.execute(status ->
+                issueCodeRepository.findByIdKind(kind)));
+        for (IssueCode entry : entries) {
+            codes(kind).put(entry.getValue(), entry.getId().getCode());
+            values(kind).put(entry.getId().getCode(), entry.getValue());
+        }
+    }
+
+    private Map<String, Short> codes(String kind) {
+        return codesByKind.computeIfAbsent(kind, k -> new ConcurrentHashMap<>());
+    }
+
+    private Map<Short, String> values(String kind) {
+        return valuesByKind.computeIfAbsent(kind, k -> new ConcurrentHashMap<>());
+    }
+}
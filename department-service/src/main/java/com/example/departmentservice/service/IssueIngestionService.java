@@ -0,0 +1,143 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.dto.IssueDto;
+import com.example.departmentservice.model.DepartmentIssue;
+import com.example.departmentservice.model.DepartmentIssueDuplicate;
+import com.example.departmentservice.model.DepartmentIssueId;
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.model.IssueOutboxEntry;
+import com.example.departmentservice.repository.DepartmentIssueDuplicateRepository;
+import com.example.departmentservice.repository.DepartmentIssueRepository;
+import com.example.departmentservice.repository.IssueOutboxRepository;
+import com.example.departmentservice.stream.IssueIngestedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stores one issue received from the Issue Service, or links it to an existing issue as a duplicate.
+ * Every stored issue or duplicate also gets an {@code issue_outbox} row in the same transaction, which
+ * {@code IssueDigestRelay} later publishes as part of a department digest.
+ * When sharding is enabled, callers must select the department's shard before calling {@link #ingest}.
+ */
+@Service
+public class IssueIngestionService {
+
+    private final DepartmentIssueRepository departmentIssueRepository;
+    private final DepartmentIssueDuplicateRepository departmentIssueDuplicateRepository;
+    private final DuplicateIssueIndex duplicateIssueIndex;
+    private final IssueTileService issueTileService;
+    private final IssueListVersionService issueListVersionService;
+    private final IssueOutboxRepository issueOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IssueCodeDictionary issueCodeDictionary;
+    private final TransactionTemplate transactionTemplate;
+
+    public IssueIngestionService(DepartmentIssueRepository departmentIssueRepository,
+                                 DepartmentIssueDuplicateRepository departmentIssueDuplicateRepository,
+                                 DuplicateIssueIndex duplicateIssueIndex, IssueTileService issueTileService,
+                                 IssueListVersionService issueListVersionService,
+                                 IssueOutboxRepository issueOutboxRepository,
+                                 ApplicationEventPublisher eventPublisher, IssueCodeDictionary issueCodeDictionary,
+                                 PlatformTransactionManager transactionManager) {
+        this.departmentIssueRepository = departmentIssueRepository;
+        this.departmentIssueDuplicateRepository = departmentIssueDuplicateRepository;
+        this.duplicateIssueIndex = duplicateIssueIndex;
+        this.issueTileService = issueTileService;
+        this.issueListVersionService = issueListVersionService;
+        this.issueOutboxRepository = issueOutboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.issueCodeDictionary = issueCodeDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void ingest(IssueDto issueDto) {
+        // New category/status values get their codes on shard 0 before the ingestion transaction opens
+        // its connection, so the entity converters only look codes up while Hibernate flushes.
+        issueCodeDictionary.encode(IssueCode.CATEGORY, issueDto.getCategory());
+        issueCodeDictionary.encode(IssueCode.STATUS, issueDto.getStatus());
+        transactionTemplate.executeWithoutResult(status -> store(issueDto));
+    }
+
+    private void store(IssueDto issueDto) {
+        DepartmentIssueId id = new DepartmentIssueId(issueDto.getDepartmentId(), issueDto.getId());
+
+        // Redelivered messages must not be stored or counted twice.
+        if (departmentIssueRepository.existsById(id) || departmentIssueDuplicateRepository.existsById(id)) {
+            return;
+        }
+
+        String canonicalIssueId = duplicateIssueIndex.findCanonicalIssueId(issueDto.getDepartmentId(),
+                issueDto.getCategory(), issueDto.getLatitude(), issueDto.getLongitude(), issueDto.getCreatedAt());
+        if (canonicalIssueId != null) {
+            saveDuplicate(id, canonicalIssueId, issueDto);
+            saveOutboxEntry(issueDto, canonicalIssueId);
+            issueListVersionService.bumpVersion(issueDto.getDepartmentId());
+            eventPublisher.publishEvent(new IssueIngestedEvent(issueDto, canonicalIssueId));
+            return;
+        }
+
+        DepartmentIssue departmentIssue = new DepartmentIssue();
+        departmentIssue.setId(id);
+        departmentIssue.setTitle(issueDto.getTitle());
+        departmentIssue.setDescription(issueDto.getDescription());
+        departmentIssue.setCategory(issueDto.getCategory());
+        departmentIssue.setPhoto_url(issueDto.getPhotoUrl());
+        departmentIssue.setUser_id(issueDto.getUserId());
+        departmentIssue.setLatitude(issueDto.getLatitude());
+        departmentIssue.setLongitude(issueDto.getLongitude());
+        departmentIssue.setStatus(issueDto.getStatus());
+        departmentIssue.setCreated_at(issueDto.getCreatedAt());
+        departmentIssue.setDuplicate_count(0);
+
+        departmentIssueRepository.save(departmentIssue);
+        issueTileService.recordIssue(departmentIssue);
+        saveOutboxEntry(issueDto, null);
+        issueListVersionService.bumpVersion(issueDto.getDepartmentId());
+        afterCommit(() -> duplicateIssueIndex.register(issueDto.getDepartmentId(), issueDto.getId(),
+                issueDto.getCategory(), issueDto.getLatitude(), issueDto.getLongitude(), issueDto.getCreatedAt()));
+        eventPublisher.publishEvent(new IssueIngestedEvent(issueDto, null));
+    }
+
+    private void saveDuplicate(DepartmentIssueId id, String canonicalIssueId, IssueDto issueDto) {
+        DepartmentIssueDuplicate duplicate = new DepartmentIssueDuplicate();
+        duplicate.setId(id);
+        duplicate.setCanonical_issue_id(canonicalIssueId);
+        duplicate.setUser_id(issueDto.getUserId());
+        duplicate.setLatitude(issueDto.getLatitude());
+        duplicate.setLongitude(issueDto.getLongitude());
+        duplicate.setCreated_at(issueDto.getCreatedAt());
+        departmentIssueDuplicateRepository.save(duplicate);
+        departmentIssueRepository.incrementDuplicateCount(id.getDepartmentId(), canonicalIssueId);
+    }
+
+    private void saveOutboxEntry(IssueDto issueDto, String canonicalIssueId) {
+        IssueOutboxEntry entry = new IssueOutboxEntry();
+        entry.setDepartment_id(issueDto.getDepartmentId());
+        entry.setIssue_id(issueDto.getId());
+        entry.setCanonical_issue_id(canonicalIssueId);
+        entry.setCategory(issueDto.getCategory());
+        entry.setStatus(issueDto.getStatus());
+        entry.setCreated_at(LocalDateTime.now());
+        issueOutboxRepository.save(entry);
+    }
+
+    // Only issues that are actually stored may become canonical for later reports.
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.repository.DepartmentIssueVersionRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * ETags for department issue lists, so pollers that already have the current list get a 304
+ * after one primary-key lookup instead of the list query.
+ * <p>
+ * Read the version before loading the list and pass it to
+ * {@link DepartmentIssueService#getIssuesForDepartment(Long, boolean, long)}. An issue committed in
+ * between then makes the ETag older than the body, which only costs the client one extra full response
+ * on its next poll. The ETag is never newer than the body.
+ */
+@Service
+public class IssueListVersionService {
+
+    private final DepartmentIssueVersionRepository departmentIssueVersionRepository;
+    private final ShardRouter shardRouter;
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter unconditional;
+
+    public IssueListVersionService(DepartmentIssueVersionRepository departmentIssueVersionRepository,
+                                   ShardRouter shardRouter, MeterRegistry meterRegistry) {
+        this.departmentIssueVersionRepository = departmentIssueVersionRepository;
+        this.shardRouter = shardRouter;
+        this.notModified = conditionalReads(meterRegistry, "not_modified");
+        this.modified = conditionalReads(meterRegistry, "modified");
+        this.unconditional = conditionalReads(meterRegistry, "unconditional");
+    }
+
+    /**
+     * Must be called inside the transaction that changes the department's issues.
+     */
+    public void bumpVersion(Long departmentId) {
+        departmentIssueVersionRepository.incrementVersion(departmentId);
+    }
+
+    public long currentVersion(Long departmentId) {
+        return shardRouter.onShardFor(departmentId,
+                () -> departmentIssueVersionRepository.findVersionByDepartmentId(departmentId)).orElse(0L);
+    }
+
+    public String eTag(Long departmentId, long version) {
+        return "\"" + departmentId + "-" + version + "\"";
+    }
+
+    public String currentETag(Long departmentId) {
+        return eTag(departmentId, currentVersion(departmentId));
+    }
+
+    /**
+     * Whether the client's {@code If-None-Match} header already names the current ETag.
+     * Uses the weak comparison required for {@code If-None-Match}.
+     */
+    public boolean isNotModified(String ifNoneMatch, String currentETag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            unconditional.increment();
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String eTag = candidate.trim();
+            if (eTag.startsWith("W/")) {
+                eTag = eTag.substring(2);
+            }
+            if (eTag.equals("*") || eTag.equals(currentETag)) {
+                notModified.increment();
+                return true;
+            }
+        }
+        modified.increment();
+        return false;
+    }
+
+    private static Counter conditionalReads(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("department.issues.conditional_reads")
+                .description("Issue list reads by If-None-Match outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds {@code department_issue_tiles} from the issues already in {@code department_issues}. Ingestion
+ * only counts issues it stores itself, so without this the tile endpoints show nothing for issues
+ * stored before tile counts existed.
+ * <p>
+ * Each zoom level is rebuilt in one transaction that locks the tile table against writes, recomputes the
+ * level with a {@code GROUP BY} on the computed tile and records the level in
+ * {@code department_issue_tile_backfills}. Ingestion waits for that transaction, and an issue it stores
+ * meanwhile is either already in the rebuild or counted after it, never both. A level that is recorded
+ * is skipped, so the backfill resumes after a failure and does nothing once every level is done.
+ * <p>
+ * Runs after {@link IssueCodeBackfill}, which fills the category and status codes it groups by, and
+ * before the service reports ready.
+ */
+@Component
+@Order(1)
+public class IssueTileBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueTileBackfill.class);
+
+    private static final String LOCK_TILES = "LOCK TABLE department_issue_tiles IN SHARE ROW EXCLUSIVE MODE";
+    private static final String ZOOM_DONE = "SELECT count(*) FROM department_issue_tile_backfills WHERE zoom = ?";
+    private static final String FORGET_UNMAINTAINED =
+            "DELETE FROM department_issue_tile_backfills WHERE zoom < ? OR zoom > ?";
+    private static final String CLEAR_ZOOM = "DELETE FROM department_issue_tiles WHERE zoom = ?";
+    // Same arithmetic as WebMercatorTiles, including the clamping of latitude and tile coordinates.
+    private static final String COUNT_ZOOM =
+            "SELECT department_id, tile_x, tile_y, category_code, status_code, count(*) AS issue_count FROM ("
+                    + " SELECT department_id, category_code, status_code,"
+                    + " LEAST(GREATEST(floor((longitude + 180.0) / 360.0 * ?)::int, 0), ? - 1) AS tile_x,"
+                    + " LEAST(GREATEST(floor((1.0 - ln(tan(radians(lat)) + 1.0 / cos(radians(lat))) / pi())"
+                    + " / 2.0 * ?)::int, 0), ? - 1) AS tile_y"
+                    + " FROM (SELECT department_id, category_code, status_code, longitude,"
+                    + " LEAST(GREATEST(latitude, -" + WebMercatorTiles.MAX_LATITUDE + "), "
+                    + WebMercatorTiles.MAX_LATITUDE + ") AS lat"
+                    + " FROM department_issues WHERE latitude IS NOT NULL AND longitude IS NOT NULL) located"
+                    + ") tiled GROUP BY department_id, tile_x, tile_y, category_code, status_code";
+    private static final String ADD_COUNT =
+            "INSERT INTO department_issue_tiles (department_id, zoom, tile_x, tile_y, category, status, issue_count) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (department_id, zoom, tile_x, tile_y, category, status) "
+                    + "DO UPDATE SET issue_count = department_issue_tiles.issue_count + EXCLUDED.issue_count";
+    private static final String MARK_ZOOM =
+            "INSERT INTO department_issue_tile_backfills (zoom, completed_at) VALUES (?, now())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IssueCodeDictionary issueCodeDictionary;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int minZoom;
+    private final int maxZoom;
+    private final Counter countedIssues;
+
+    public IssueTileBackfill(JdbcTemplate jdbcTemplate, IssueCodeDictionary issueCodeDictionary,
+                             ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${department.tiles.backfill.enabled:true}") boolean enabled,
+                             @Value("${department.tiles.min-zoom:12}") int minZoom,
+                             @Value("${department.tiles.max-zoom:18}") int maxZoom) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.issueCodeDictionary = issueCodeDictionary;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.countedIssues = Counter.builder("department.tiles.backfilled")
+                .description("Existing issues added to tile counts by the tile backfill, once per rebuilt zoom level")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            log.error("Issue tile backfill stopped; it resumes on the next start", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Rebuilds every zoom level not yet recorded on each shard and returns the number of issues counted.
+     */
+    public long backfill() {
+        // Decoding inside the rebuild transactions should not have to wait for a dictionary refresh.
+        issueCodeDictionary.refreshAll();
+        long counted = shardRouter.onAllShards(this::backfillCurrentShard).stream().mapToLong(Long::longValue).sum();
+        if (counted > 0) {
+            log.info("Issue tile backfill counted {} issues", counted);
+        }
+        return counted;
+    }
+
+    private long backfillCurrentShard() {
+        // A level that stops being maintained and comes back later has missed issues and is rebuilt.
+        jdbcTemplate.update(FORGET_UNMAINTAINED, minZoom, maxZoom);
+        long counted = 0;
+        for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+            int level = zoom;
+            Long zoomCounted = transactionTemplate.execute(status -> rebuildZoom(level));
+            counted += zoomCounted == null ? 0 : zoomCounted;
+        }
+        return counted;
+    }
+
+    private long rebuildZoom(int zoom) {
+        jdbcTemplate.execute(LOCK_TILES);
+        Integer done = jdbcTemplate.queryForObject(ZOOM_DONE, Integer.class, zoom);
+        if (done != null && done > 0) {
+            return 0;
+        }
+        int tiles = 1 << zoom;
+        List<Object[]> counts = new ArrayList<>();
+        long counted = 0;
+        for (TileCount count : jdbcTemplate.query(COUNT_ZOOM, (resultSet, rowNumber) -> new TileCount(
+                        resultSet.getLong("department_id"), resultSet.getInt("tile_x"), resultSet.getInt("tile_y"),
+                        resultSet.getObject("category_code", Short.class),
+                        resultSet.getObject("status_code", Short.class),
+                        resultSet.getLong("issue_count")),
+                tiles, tiles, tiles, tiles)) {
+            counts.add(new Object[]{count.departmentId(), zoom, count.tileX(), count.tileY(),
+                    orUnknown(issueCodeDictionary.decode(IssueCode.CATEGORY, count.categoryCode())),
+                    orUnknown(issueCodeDictionary.decode(IssueCode.STATUS, count.statusCode())),
+                    count.issueCount()});
+            counted += count.issueCount();
+        }
+        jdbcTemplate.update(CLEAR_ZOOM, zoom);
+        if (!counts.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_COUNT, counts);
+        }
+        jdbcTemplate.update(MARK_ZOOM, zoom);
+        countedIssues.increment(counted);
+        return counted;
+    }
+
+    private static String orUnknown(String value) {
+        return value == null || value.isBlank() ? IssueTileService.UNKNOWN : value;
+    }
+
+    private record TileCount(long departmentId, int tileX, int tileY, Short categoryCode, Short statusCode,
+                             long issueCount) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.dto.IssueTileDto;
+import com.example.departmentservice.model.DepartmentIssue;
+import com.example.departmentservice.model.IssueTileCount;
+import com.example.departmentservice.repository.IssueTileCountRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class IssueTileService {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private final IssueTileCountRepository issueTileCountRepository;
+    private final ShardRouter shardRouter;
+    private final int minZoom;
+    private final int maxZoom;
+
+    public IssueTileService(IssueTileCountRepository issueTileCountRepository, ShardRouter shardRouter,
+                            @Value("${department.tiles.min-zoom:12}") int minZoom,
+                            @Value("${department.tiles.max-zoom:18}") int maxZoom) {
+        this.issueTileCountRepository = issueTileCountRepository;
+        this.shardRouter = shardRouter;
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+    }
+
+    /**
+     * Adds the issue to the tile it falls into at every maintained zoom level.
+     * Issues without coordinates are not drawn on the map and are skipped.
+     */
+    public void recordIssue(DepartmentIssue departmentIssue) {
+        if (departmentIssue.getLatitude() == null || departmentIssue.getLongitude() == null) {
+            return;
+        }
+        Long departmentId = departmentIssue.getId().getDepartmentId();
+        String category = orUnknown(departmentIssue.getCategory());
+        String status = orUnknown(departmentIssue.getStatus());
+        for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+            int tileX = WebMercatorTiles.tileX(departmentIssue.getLongitude(), zoom);
+            int tileY = WebMercatorTiles.tileY(departmentIssue.getLatitude(), zoom);
+            issueTileCountRepository.incrementTileCount(departmentId, zoom, tileX, tileY, category, status);
+        }
+    }
+
+    public IssueTileDto getTileForDepartment(Long departmentId, int zoom, int x, int y) {
+        validateTile(zoom, x, y);
+        return toDto(zoom, x, y, shardRouter.onShardFor(departmentId,
+                () -> issueTileCountRepository.findByIdDepartmentIdAndIdZoomAndIdTileXAndIdTileY(departmentId, zoom, x, y)));
+    }
+
+    /**
+     * Tile counts across all departments; with sharding enabled every shard is queried in parallel.
+     */
+    public IssueTileDto getTile(int zoom, int x, int y) {
+        validateTile(zoom, x, y);
+        List<IssueTileCount> counts = new ArrayList<>();
+        for (List<IssueTileCount> shardCounts : shardRouter.onAllShards(
+                () -> issueTileCountRepository.findByIdZoomAndIdTileXAndIdTileY(zoom, x, y))) {
+            counts.addAll(shardCounts);
+        }
+        return toDto(zoom, x, y, counts);
+    }
+
+    private void validateTile(int zoom, int x, int y) {
+        if (zoom < minZoom || zoom > maxZoom) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Zoom level must be between " + minZoom + " and " + maxZoom + ": " + zoom);
+        }
+        if (!WebMercatorTiles.isValidTile(zoom, x, y)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Tile " + x + "/" + y + " does not exist at zoom level " + zoom);
+        }
+    }
+
+    private IssueTileDto toDto(int zoom, int x, int y, List<IssueTileCount> counts) {
+        Map<String, Long> byCategory = new TreeMap<>();
+        Map<String, Long> byStatus = new TreeMap<>();
+        long total = 0;
+        for (IssueTileCount count : counts) {
+            byCategory.merge(count.getId().getCategory(), count.getIssueCount(), Long::sum);
+            byStatus.merge(count.getId().getStatus(), count.getIssueCount(), Long::sum);
+            total += count.getIssueCount();
+        }
+        IssueTileDto issueTileDto = new IssueTileDto();
+        issueTileDto.setZoom(zoom);
+        issueTileDto.setX(x);
+        issueTileDto.setY(y);
+        issueTileDto.setTotal(total);
+        issueTileDto.setByCategory(byCategory);
+        issueTileDto.setByStatus(byStatus);
+        return issueTileDto;
+    }
+
+    private static String orUnknown(String value) {
+        return value == null || value.isBlank() ? UNKNOWN : value;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.departmentservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same thing share a single in-flight load.
+ * The first caller for a key runs the loader; callers arriving while it runs wait
+ * for its result (up to the configured max wait) instead of issuing their own query.
+ * Nothing is kept once the load completes.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waitingFollowers = new AtomicInteger();
+    private final boolean enabled;
+    private final long maxWaitMillis;
+    private final Counter leaderCalls;
+    private final Counter coalescedCalls;
+    private final Counter timedOutCalls;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${department.coalescing.enabled:true}") boolean enabled,
+                            @Value("${department.coalescing.max-wait-ms:2000}") long maxWaitMillis) {
+        this.enabled = enabled;
+        this.maxWaitMillis = maxWaitMillis;
+        this.leaderCalls = callCounter(meterRegistry, "leader");
+        this.coalescedCalls = callCounter(meterRegistry, "coalesced");
+        this.timedOutCalls = callCounter(meterRegistry, "timeout");
+    }
+
+    public <T> T execute(String method, Supplier<T> loader, Object... args) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CallKey key = new CallKey(method, Arrays.asList(args));
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing == null) {
+            return lead(key, call, loader);
+        }
+        return follow(existing, loader);
+    }
+
+    private <T> T lead(CallKey key, CompletableFuture<Object> call, Supplier<T> loader) {
+        leaderCalls.increment();
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(CompletableFuture<Object> existing, Supplier<T> loader) {
+        waitingFollowers.incrementAndGet();
+        try {
+            T result = (T) existing.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            coalescedCalls.increment();
+            return result;
+        } catch (TimeoutException e) {
+            timedOutCalls.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            coalescedCalls.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced call failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced call", e);
+        } finally {
+            waitingFollowers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Callers currently waiting on another caller's in-flight load.
+     */
+    int waitingFollowers() {
+        return waitingFollowers.get();
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("department.coalescing.calls")
+                .description("Calls passing through the request coalescer, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record CallKey(String method, List<Object> args) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.departmentservice.service;
+
+/**
+ * Slippy-map (web-mercator) tile arithmetic, matching the z/x/y scheme used by OpenStreetMap tiles.
+ */
+public final class WebMercatorTiles {
+
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    private WebMercatorTiles() {
+    }
+
+    public static int tileX(double longitude, int zoom) {
+        int tiles = 1 << zoom;
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * tiles);
+        return clamp(x, tiles);
+    }
+
+    public static int tileY(double latitude, int zoom) {
+        int tiles = 1 << zoom;
+        double clampedLatitude = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double latitudeRadians = Math.toRadians(clampedLatitude);
+        double mercatorY = Math.log(Math.tan(latitudeRadians) + 1.0 / Math.cos(latitudeRadians));
+        int y = (int) Math.floor((1.0 - mercatorY / Math.PI) / 2.0 * tiles);
+        return clamp(y, tiles);
+    }
+
+    public static boolean isValidTile(int zoom, int x, int y) {
+        int tiles = 1 << zoom;
+        return x >= 0 && x < tiles && y >= 0 && y < tiles;
+    }
+
+    private static int clamp(int value, int tiles) {
+        return Math.max(0, Math.min(tiles - 1, value));
+    }
+}
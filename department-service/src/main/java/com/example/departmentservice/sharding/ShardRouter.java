@@ -0,0 +1,170 @@
+package com.example.departmentservice.sharding;
+
+import com.example.departmentservice.instrumentation.RequestQueryStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Chooses the database shard for department-scoped work. A department's issues, duplicates, tile
+ * counts and list version live on shard {@code floorMod(hash(departmentId), shardCount)}; everything
+ * else, including {@code departments}, stays on shard 0.
+ * <p>
+ * The shard is picked when a transaction opens its connection, so {@link #onShardFor} has to wrap
+ * the transactional call rather than run inside it. With sharding disabled every method simply runs
+ * the action. Changing the number of shards moves departments and needs a data migration.
+ */
+@Component
+public class ShardRouter {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(@Value("${department.sharding.enabled:false}") boolean enabled,
+                       @Value("${department.sharding.urls:}") List<String> shardUrls) {
+        this.enabled = enabled && shardUrls.size() > 1;
+        this.shardCount = this.enabled ? shardUrls.size() : 1;
+        this.scatterExecutor = this.enabled ? Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(Long departmentId) {
+        return enabled ? Math.floorMod(Long.hashCode(departmentId), shardCount) : 0;
+    }
+
+    /**
+     * Shard the current thread is routed to, or {@code null} for the default shard.
+     */
+    Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public <T> T onShardFor(Long departmentId, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        return onShard(shardFor(departmentId), action);
+    }
+
+    public void onShardFor(Long departmentId, Runnable action) {
+        onShardFor(departmentId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the action against shard 0, where global tables such as {@code issue_codes} live. Unlike
+     * {@link #onShardFor} this may be called while a transaction on another shard is open, so the action
+     * must start its own transaction ({@code REQUIRES_NEW}) instead of joining the current one.
+     */
+    public <T> T onDefaultShard(Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(0);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Runs the action once per shard in parallel and returns the results in shard order. Queries on the
+     * scatter threads count towards the calling request's {@link RequestQueryStats}.
+     */
+    public <T> List<T> onAllShards(Supplier<T> action) {
+        if (!enabled) {
+            return List.of(action.get());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    RequestQueryStats.propagate(() -> onShard(target, action)), scatterExecutor));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Runs the action once per shard, one shard after another on the calling thread, and returns the
+     * results in shard order. Meant for background jobs that may block for a long time, so they do not
+     * hold the scatter threads that {@link #onAllShards} requests need.
+     */
+    public <T> List<T> onEachShard(Supplier<T> action) {
+        if (!enabled) {
+            return List.of(action.get());
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            results.add(onShard(shard, action));
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    private <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = CURRENT_SHARD.get();
+        int effectivePrevious = previous != null ? previous : 0;
+        if (effectivePrevious != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard
+                    + " inside a transaction that is already bound to shard " + effectivePrevious);
+        }
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(Integer previous) {
+        if (previous != null) {
+            CURRENT_SHARD.set(previous);
+        } else {
+            CURRENT_SHARD.remove();
+        }
+    }
+}
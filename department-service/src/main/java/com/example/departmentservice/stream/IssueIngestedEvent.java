@@ -0,0 +1,14 @@
+package com.example.departmentservice.stream;
+
+import com.example.departmentservice.dto.IssueDto;
+
+/**
+ * Published by {@code IssueCreatedListener} for every stored issue. {@code canonicalIssueId} is set when
+ * the issue was linked to an existing issue as a duplicate instead of being stored on its own.
+ */
+public record IssueIngestedEvent(IssueDto issue, String canonicalIssueId) {
+
+    public boolean isDuplicate() {
+        return canonicalIssueId != null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.departmentservice.stream;
+
+import com.example.departmentservice.config.RabbitMQConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries committed {@link IssueIngestedEvent}s between pods. {@code issue_created} has competing
+ * consumers, so the pod that ingests an issue is usually not the one a subscriber is connected to.
+ * Every pod, the sending one included, receives each event once on its own queue and hands it to its
+ * {@link IssueStreamRegistry}.
+ */
+@Component
+@ConditionalOnProperty(name = "department.stream.fanout.enabled", havingValue = "true", matchIfMissing = true)
+public class IssueStreamFanout {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueStreamFanout.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final IssueStreamRegistry issueStreamRegistry;
+    private final ObjectMapper objectMapper;
+
+    public IssueStreamFanout(RabbitTemplate rabbitTemplate, IssueStreamRegistry issueStreamRegistry,
+                             ObjectMapper objectMapper) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.issueStreamRegistry = issueStreamRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    public void send(IssueIngestedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.ISSUE_STREAM_EXCHANGE, "",
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize issue stream event", e);
+        }
+    }
+
+    @RabbitListener(queues = "#{issueStreamQueue.name}")
+    public void receive(String message) {
+        IssueIngestedEvent event;
+        try {
+            event = objectMapper.readValue(message, IssueIngestedEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping unreadable issue stream event: {}", e.getMessage());
+            return;
+        }
+        IssueStreamPublisher.publishLocally(issueStreamRegistry, event);
+    }
+}
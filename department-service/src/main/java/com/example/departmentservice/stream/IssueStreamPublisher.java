@@ -0,0 +1,60 @@
+package com.example.departmentservice.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards ingested issues to SSE subscribers once the ingestion transaction has committed,
+ * so a client never sees an issue that was rolled back.
+ * <p>
+ * With {@code department.stream.fanout.enabled} (the default) the event goes through
+ * {@link IssueStreamFanout} to every pod. If the broker cannot take it, only this pod's subscribers
+ * get it. With fan-out off, events stay on the pod that ingested them, which only suits a single replica.
+ */
+@Component
+public class IssueStreamPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueStreamPublisher.class);
+
+    static final String ISSUE_EVENT = "issue";
+    static final String DUPLICATE_EVENT = "duplicate";
+
+    private final IssueStreamRegistry issueStreamRegistry;
+    private final IssueStreamFanout issueStreamFanout;
+    private final Counter fanoutFailures;
+
+    public IssueStreamPublisher(IssueStreamRegistry issueStreamRegistry,
+                                ObjectProvider<IssueStreamFanout> issueStreamFanout, MeterRegistry meterRegistry) {
+        this.issueStreamRegistry = issueStreamRegistry;
+        this.issueStreamFanout = issueStreamFanout.getIfAvailable();
+        this.fanoutFailures = Counter.builder("department.stream.fanout.failures")
+                .description("Issue events only delivered to this pod's subscribers because the broker refused them")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueIngested(IssueIngestedEvent event) {
+        if (issueStreamFanout == null) {
+            publishLocally(issueStreamRegistry, event);
+            return;
+        }
+        try {
+            issueStreamFanout.send(event);
+        } catch (AmqpException e) {
+            fanoutFailures.increment();
+            log.warn("Issue stream fan-out failed, delivering to this pod only: {}", e.getMessage());
+            publishLocally(issueStreamRegistry, event);
+        }
+    }
+
+    static void publishLocally(IssueStreamRegistry issueStreamRegistry, IssueIngestedEvent event) {
+        issueStreamRegistry.publish(event.issue().getDepartmentId(),
+                event.isDuplicate() ? DUPLICATE_EVENT : ISSUE_EVENT, event);
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.departmentservice.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-department registry of SSE subscribers for newly ingested issues. Events arrive through
+ * {@link IssueStreamFanout}, so the subscribers on this pod also see issues ingested by other pods.
+ * <p>
+ * Each department keeps a sequence number used as the SSE event id and a short replay buffer, so a
+ * client reconnecting with {@code Last-Event-ID} receives what it missed while it was away. Sequence
+ * numbers are per pod and restart from zero; an id this pod has not issued yet replays the whole buffer.
+ * <p>
+ * A client that stops reading blocks a dispatcher thread in its write. Subscribers whose current send
+ * has run past {@code department.stream.send-timeout-ms} are evicted. The dispatcher pool then gets
+ * one extra thread for as long as that write stays blocked, up to {@code max-stuck-writers}, so other
+ * subscribers keep receiving events.
+ */
+@Component
+public class IssueStreamRegistry {
+
+    private final Map<Long, DepartmentStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger stuckWriters = new AtomicInteger();
+    private final int bufferSize;
+    private final int replaySize;
+    private final Executor dispatcher;
+    private final long sendTimeoutNanos;
+    private final int maxStuckWriters;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Counter publishedEvents;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public IssueStreamRegistry(MeterRegistry meterRegistry,
+                               @Value("${department.stream.buffer-size:64}") int bufferSize,
+                               @Value("${department.stream.replay-size:256}") int replaySize,
+                               @Value("${department.stream.timeout-ms:1800000}") long timeoutMillis,
+                               @Value("${department.stream.dispatcher-threads:4}") int dispatcherThreads,
+                               @Value("${department.stream.send-timeout-ms:5000}") long sendTimeoutMillis,
+                               @Value("${department.stream.max-stuck-writers:64}") int maxStuckWriters) {
+        this(meterRegistry, bufferSize, replaySize, new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads,
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "issue-stream-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        }), sendTimeoutMillis, maxStuckWriters, () -> new SseEmitter(timeoutMillis));
+    }
+
+    IssueStreamRegistry(MeterRegistry meterRegistry, int bufferSize, int replaySize, Executor dispatcher,
+                        long sendTimeoutMillis, int maxStuckWriters, Supplier<SseEmitter> emitterFactory) {
+        this.meterRegistry = meterRegistry;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.dispatcher = dispatcher;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.maxStuckWriters = maxStuckWriters;
+        this.emitterFactory = emitterFactory;
+        this.publishedEvents = Counter.builder("department.stream.events.published")
+                .description("Issue events handed to SSE subscribers")
+                .register(meterRegistry);
+        Gauge.builder("department.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Connected SSE subscribers")
+                .register(meterRegistry);
+        Gauge.builder("department.stream.stuck_writers", stuckWriters, AtomicInteger::get)
+                .description("Dispatcher threads blocked in a write to an evicted subscriber")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long departmentId, String lastEventId) {
+        SseEmitter emitter = emitterFactory.get();
+        IssueStreamSubscriber subscriber = new IssueStreamSubscriber(departmentId, emitter, bufferSize, dispatcher,
+                this::onDisconnect, this::onStuckSendReturned);
+        emitter.onCompletion(() -> subscriber.closedByContainer("completed"));
+        emitter.onTimeout(() -> subscriber.closedByContainer("timeout"));
+        emitter.onError(error -> subscriber.closedByContainer("error"));
+
+        DepartmentStream stream = streams.computeIfAbsent(departmentId, id -> new DepartmentStream());
+        synchronized (stream) {
+            for (StreamEvent missed : stream.eventsAfter(parseEventId(lastEventId), bufferSize)) {
+                subscriber.offer(missed);
+            }
+            if (!subscriber.isClosed()) {
+                stream.subscribers.add(subscriber);
+                subscriberCount.incrementAndGet();
+            }
+        }
+        return emitter;
+    }
+
+    public void publish(Long departmentId, String eventName, Object data) {
+        DepartmentStream stream = streams.computeIfAbsent(departmentId, id -> new DepartmentStream());
+        synchronized (stream) {
+            StreamEvent event = new StreamEvent(++stream.sequence, eventName, data);
+            stream.replay.addLast(event);
+            while (stream.replay.size() > replaySize) {
+                stream.replay.removeFirst();
+            }
+            for (IssueStreamSubscriber subscriber : stream.subscribers) {
+                subscriber.offer(event);
+            }
+        }
+        publishedEvents.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${department.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (DepartmentStream stream : streams.values()) {
+            for (IssueStreamSubscriber subscriber : stream.subscribers) {
+                subscriber.offer(StreamEvent.HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * Runs on the shared scheduler, so it only flags subscribers and never touches their emitters.
+     */
+    @Scheduled(fixedDelayString = "${department.stream.send-check-interval-ms:1000}")
+    public void evictStuckWriters() {
+        long startedBefore = System.nanoTime() - sendTimeoutNanos;
+        for (DepartmentStream stream : streams.values()) {
+            for (IssueStreamSubscriber subscriber : stream.subscribers) {
+                if (subscriber.evictIfSendStuck(startedBefore)) {
+                    addDispatcherThread();
+                }
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (DepartmentStream stream : streams.values()) {
+            for (IssueStreamSubscriber subscriber : stream.subscribers) {
+                subscriber.disconnect("shutdown");
+            }
+        }
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void onDisconnect(IssueStreamSubscriber subscriber, String reason) {
+        DepartmentStream stream = streams.get(subscriber.getDepartmentId());
+        if (stream != null && stream.subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+        if ("slow".equals(reason) || "error".equals(reason) || "stuck".equals(reason)) {
+            Counter.builder("department.stream.subscribers.dropped")
+                    .description("SSE subscribers disconnected by the server")
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private void onStuckSendReturned(IssueStreamSubscriber subscriber) {
+        if (stuckWriters.decrementAndGet() < maxStuckWriters
+                && dispatcher instanceof ThreadPoolExecutor executor) {
+            synchronized (executor) {
+                executor.setCorePoolSize(executor.getCorePoolSize() - 1);
+                executor.setMaximumPoolSize(executor.getMaximumPoolSize() - 1);
+            }
+        }
+    }
+
+    // Replaces the blocked thread so the remaining subscribers keep the configured number of writers.
+    private void addDispatcherThread() {
+        if (stuckWriters.incrementAndGet() <= maxStuckWriters
+                && dispatcher instanceof ThreadPoolExecutor executor) {
+            synchronized (executor) {
+                executor.setMaximumPoolSize(executor.getMaximumPoolSize() + 1);
+                executor.setCorePoolSize(executor.getCorePoolSize() + 1);
+            }
+        }
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static class DepartmentStream {
+        private final Set<IssueStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Deque<StreamEvent> replay = new ArrayDeque<>();
+        private long sequence;
+
+        /**
+         * Events after {@code lastEventId}, newest {@code limit} at most. No id means a fresh subscription
+         * (nothing replayed); an id this stream has not reached yet replays everything buffered.
+         */
+        private Deque<StreamEvent> eventsAfter(long lastEventId, int limit) {
+            Deque<StreamEvent> missed = new ArrayDeque<>();
+            if (lastEventId == Long.MAX_VALUE) {
+                return missed;
+            }
+            long after = lastEventId > sequence ? 0 : lastEventId;
+            var iterator = replay.descendingIterator();
+            while (iterator.hasNext() && missed.size() < limit) {
+                StreamEvent event = iterator.next();
+                if (event.id() <= after) {
+                    break;
+                }
+                missed.addFirst(event);
+            }
+            return missed;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.departmentservice.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * One SSE client. Events are queued in a bounded buffer and written by the shared dispatcher,
+ * with at most one drain running per subscriber. A client whose buffer overflows is disconnected
+ * rather than slowing down everybody else; it can reconnect with {@code Last-Event-ID}.
+ * <p>
+ * A write to a client that stopped reading blocks its dispatcher thread until the container's write
+ * timeout. {@link #evictIfSendStuck} closes such a subscriber once a single send has run past the
+ * deadline. The blocked thread is reported back through {@code onStuckSendReturned} when the write
+ * finally returns.
+ */
+class IssueStreamSubscriber {
+
+    private final Long departmentId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<StreamEvent> buffer;
+    private final Executor dispatcher;
+    private final BiConsumer<IssueStreamSubscriber, String> onDisconnect;
+    private final Consumer<IssueStreamSubscriber> onStuckSendReturned;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Object sendLock = new Object();
+    private long sendStartedNanos;
+    private boolean evictedDuringSend;
+
+    IssueStreamSubscriber(Long departmentId, SseEmitter emitter, int bufferSize, Executor dispatcher,
+                          BiConsumer<IssueStreamSubscriber, String> onDisconnect,
+                          Consumer<IssueStreamSubscriber> onStuckSendReturned) {
+        this.departmentId = departmentId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dispatcher = dispatcher;
+        this.onDisconnect = onDisconnect;
+        this.onStuckSendReturned = onStuckSendReturned;
+    }
+
+    Long getDepartmentId() {
+        return departmentId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void offer(StreamEvent event) {
+        if (closed.get()) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            disconnect("slow");
+            return;
+        }
+        scheduleDrain();
+    }
+
+    void disconnect(String reason) {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            onDisconnect.accept(this, reason);
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Closes the subscriber if its current send started before {@code startedBeforeNanos}. The emitter
+     * is not completed here: completing waits for the blocked send, so the draining thread completes it
+     * once the write returns. Returns whether the subscriber was evicted.
+     */
+    boolean evictIfSendStuck(long startedBeforeNanos) {
+        synchronized (sendLock) {
+            if (sendStartedNanos == 0 || sendStartedNanos - startedBeforeNanos > 0
+                    || !closed.compareAndSet(false, true)) {
+                return false;
+            }
+            evictedDuringSend = true;
+        }
+        buffer.clear();
+        onDisconnect.accept(this, "stuck");
+        return true;
+    }
+
+    /**
+     * Called when the container reports the connection as finished, timed out or failed.
+     */
+    void closedByContainer(String reason) {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            onDisconnect.accept(this, reason);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                disconnect("error");
+            }
+        }
+    }
+
+    private void drain() {
+        boolean returnedFromStuckSend = false;
+        try {
+            StreamEvent event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                synchronized (sendLock) {
+                    sendStartedNanos = System.nanoTime();
+                }
+                try {
+                    emitter.send(event.toSseEvent());
+                } finally {
+                    returnedFromStuckSend = sendFinished();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            closedByContainer("error");
+            emitter.completeWithError(e);
+        } finally {
+            draining.set(false);
+            if (returnedFromStuckSend) {
+                completeQuietly();
+                onStuckSendReturned.accept(this);
+            }
+        }
+        // An event may have been queued after the last poll but before draining was reset.
+        if (!closed.get() && !buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private boolean sendFinished() {
+        synchronized (sendLock) {
+            sendStartedNanos = 0;
+            boolean evicted = evictedDuringSend;
+            evictedDuringSend = false;
+            return evicted;
+        }
+    }
+
+    private void completeQuietly() {
+        try {
+            emitter.complete();
+        } catch (RuntimeException e) {
+            // The connection is already gone.
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.departmentservice.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * An event as queued for SSE subscribers. Heartbeats carry no id and are sent as comments.
+ */
+record StreamEvent(long id, String name, Object data) {
+
+    static final StreamEvent HEARTBEAT = new StreamEvent(-1, null, null);
+
+    SseEmitter.SseEventBuilder toSseEvent() {
+        if (this == HEARTBEAT) {
+            return SseEmitter.event().comment("keepalive");
+        }
+        return SseEmitter.event().id(Long.toString(id)).name(name).data(data);
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.departmentservice.warmup;
+
+import com.example.departmentservice.model.DepartmentIssueId;
+import com.example.departmentservice.model.DepartmentIssueVersion;
+import com.example.departmentservice.repository.DepartmentIssueRepository;
+import com.example.departmentservice.repository.DepartmentIssueVersionRepository;
+import com.example.departmentservice.repository.DepartmentRepository;
+import com.example.departmentservice.service.DepartmentIssueService;
+import com.example.departmentservice.service.DepartmentService;
+import com.example.departmentservice.service.IssueListVersionService;
+import com.example.departmentservice.service.IssueTileService;
+import com.example.departmentservice.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms the service up before it reports ready. Spring Boot runs application runners before it
+ * publishes {@code ReadinessState.ACCEPTING_TRAFFIC}, so {@code /actuator/health/readiness} stays
+ * {@code OUT_OF_SERVICE} until this returns.
+ * <p>
+ * Phases: open connections in every pool, run each read query and each controller's service and
+ * serialization path a number of times, and run the read paths of the most recently active departments.
+ * The service has no result cache, so nothing is kept: warm-up only fills the database buffers and
+ * gives the JIT these code paths. It only reads, gives up on a step that fails, and stops once its time
+ * budget is spent; it never prevents startup.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final DataSource dataSource;
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentIssueRepository departmentIssueRepository;
+    private final DepartmentIssueVersionRepository departmentIssueVersionRepository;
+    private final DepartmentService departmentService;
+    private final DepartmentIssueService departmentIssueService;
+    private final IssueListVersionService issueListVersionService;
+    private final IssueTileService issueTileService;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int iterations;
+    private final int connections;
+    private final int hotDepartments;
+    private final long maxDurationNanos;
+    private final int tileZoom;
+    private final Counter failures;
+    private final Map<String, AtomicLong> firstCallNanos = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> lastCallNanos = new LinkedHashMap<>();
+
+    public WarmupRunner(DataSource dataSource, DepartmentRepository departmentRepository,
+                        DepartmentIssueRepository departmentIssueRepository,
+                        DepartmentIssueVersionRepository departmentIssueVersionRepository,
+                        DepartmentService departmentService, DepartmentIssueService departmentIssueService,
+                        IssueListVersionService issueListVersionService, IssueTileService issueTileService,
+                        ShardRouter shardRouter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                        @Value("${department.warmup.enabled:true}") boolean enabled,
+                        @Value("${department.warmup.iterations:20}") int iterations,
+                        @Value("${department.warmup.connections:5}") int connections,
+                        @Value("${department.warmup.hot-departments:20}") int hotDepartments,
+                        @Value("${department.warmup.max-duration-ms:60000}") long maxDurationMillis,
+                        @Value("${department.tiles.min-zoom:12}") int tileZoom) {
+        this.dataSource = dataSource;
+        this.departmentRepository = departmentRepository;
+        this.departmentIssueRepository = departmentIssueRepository;
+        this.departmentIssueVersionRepository = departmentIssueVersionRepository;
+        this.departmentService = departmentService;
+        this.departmentIssueService = departmentIssueService;
+        this.issueListVersionService = issueListVersionService;
+        this.issueTileService = issueTileService;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.connections = connections;
+        this.hotDepartments = hotDepartments;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        this.tileZoom = tileZoom;
+        this.failures = Counter.builder("department.warmup.failures")
+                .description("Warm-up steps that threw and were skipped")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + maxDurationNanos;
+
+        timePhase("pool", this::openConnections);
+        List<Long> hot = new ArrayList<>();
+        timePhase("hot-departments", () -> hot.addAll(findHotDepartments()));
+        Long sampleDepartmentId = hot.isEmpty() ? 0L : hot.get(0);
+        timePhase("queries", () -> {
+            for (Map.Entry<String, Runnable> step : steps(sampleDepartmentId).entrySet()) {
+                repeat(step.getKey(), step.getValue(), deadline);
+            }
+        });
+        timePhase("preload", () -> {
+            for (Long departmentId : hot) {
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+                attempt("preload", () -> preload(departmentId));
+            }
+        });
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("department.warmup.duration").tag("phase", "total").register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up finished in {} ms ({} hot departments, {} failed steps)",
+                TimeUnit.NANOSECONDS.toMillis(elapsed), hot.size(), (long) failures.count());
+    }
+
+    /**
+     * Read paths behind each endpoint. Repository queries run directly; controller paths go through
+     * the same service call and Jackson serialization the controller uses.
+     */
+    private Map<String, Runnable> steps(Long departmentId) {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("departments.findAll", departmentRepository::findAll);
+        steps.put("departments.findById", () -> departmentRepository.findById(departmentId));
+        steps.put("departments.findByName", () -> departmentRepository.findByName(""));
+        steps.put("issues.findByDepartment", () -> shardRouter.onShardFor(departmentId,
+                () -> departmentIssueRepository.findByIdDepartmentId(departmentId)));
+        steps.put("issues.existsById", () -> shardRouter.onShardFor(departmentId,
+                () -> departmentIssueRepository.existsById(new DepartmentIssueId(departmentId, ""))));
+        steps.put("controller.getAllDepartments", () -> serialize(departmentService.getAllDepartments()));
+        steps.put("controller.getDepartmentById", () -> serialize(departmentRepository.findById(departmentId)
+                .orElse(null)));
+        steps.put("controller.getDepartmentIssues", () -> serialize(issueList(departmentId)));
+        steps.put("controller.getCanonicalDepartmentIssues",
+                () -> serialize(departmentIssueService.getCanonicalIssuesForDepartment(departmentId)));
+        steps.put("controller.getDepartmentIssueTile",
+                () -> serialize(issueTileService.getTileForDepartment(departmentId, tileZoom, 0, 0)));
+        steps.put("controller.getIssueTile", () -> serialize(issueTileService.getTile(tileZoom, 0, 0)));
+        return steps;
+    }
+
+    private void repeat(String step, Runnable action, long deadline) {
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            if (System.nanoTime() > deadline) {
+                return;
+            }
+            long callStart = System.nanoTime();
+            if (!attempt(step, action)) {
+                return;
+            }
+            long callNanos = System.nanoTime() - callStart;
+            if (iteration == 0) {
+                stepGauge(firstCallNanos, "department.warmup.step.first", step).set(callNanos);
+            }
+            stepGauge(lastCallNanos, "department.warmup.step.last", step).set(callNanos);
+        }
+    }
+
+    private boolean attempt(String step, Runnable action) {
+        try {
+            action.run();
+            return true;
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Warm-up step {} failed: {}", step, e.getMessage());
+            return false;
+        }
+    }
+
+    private void openConnections() {
+        shardRouter.onAllShards(() -> {
+            List<Connection> opened = new ArrayList<>();
+            try {
+                for (int i = 0; i < connections; i++) {
+                    opened.add(dataSource.getConnection());
+                }
+            } catch (SQLException e) {
+                failures.increment();
+                log.warn("Warm-up could not open {} connections: {}", connections, e.getMessage());
+            } finally {
+                for (Connection connection : opened) {
+                    try {
+                        connection.close();
+                    } catch (SQLException ignored) {
+                        // Returning a pooled connection; nothing to recover.
+                    }
+                }
+            }
+            return opened.size();
+        });
+    }
+
+    private List<Long> findHotDepartments() {
+        List<DepartmentIssueVersion> recent = new ArrayList<>();
+        for (List<DepartmentIssueVersion> shardRecent : shardRouter.onAllShards(
+                () -> departmentIssueVersionRepository.findByOrderByUpdatedAtDesc(Limit.of(hotDepartments)))) {
+            recent.addAll(shardRecent);
+        }
+        return recent.stream()
+                .sorted(Comparator.comparing(DepartmentIssueVersion::getUpdatedAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(hotDepartments)
+                .map(DepartmentIssueVersion::getDepartmentId)
+                .toList();
+    }
+
+    /**
+     * Runs the read paths of one hot department. Nothing is kept: this only pulls the department's
+     * rows into the database buffers and gets the JIT going on these paths. A department can have a
+     * version row without a {@code departments} row, so a 404 here is expected and not a failure.
+     */
+    private void preload(Long departmentId) {
+        try {
+            departmentService.getDepartmentById(departmentId);
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
+                throw e;
+            }
+            log.debug("Warm-up found no department row for hot department {}", departmentId);
+        }
+        issueList(departmentId);
+        departmentIssueService.getCanonicalIssuesForDepartment(departmentId);
+    }
+
+    // Same calls as DepartmentController.getDepartmentIssues, so warm-up uses the same coalescing key.
+    private List<String> issueList(Long departmentId) {
+        long version = issueListVersionService.currentVersion(departmentId);
+        issueListVersionService.eTag(departmentId, version);
+        return departmentIssueService.getIssuesForDepartment(departmentId, true, version);
+    }
+
+    private void serialize(Object body) {
+        try {
+            objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void timePhase(String phase, Runnable action) {
+        long start = System.nanoTime();
+        attempt(phase, action);
+        Timer.builder("department.warmup.duration").tag("phase", phase).register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicLong stepGauge(Map<String, AtomicLong> gauges, String name, String step) {
+        return gauges.computeIfAbsent(step, s -> {
+            AtomicLong nanos = new AtomicLong();
+            TimeGauge.builder(name, nanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                    .tag("step", s)
+                    .register(meterRegistry);
+            return nanos;
+        });
+    }
+
+    Map<String, Long> firstCallNanos() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        firstCallNanos.forEach((step, nanos) -> snapshot.put(step, nanos.get()));
+        return snapshot;
+    }
+
+    Map<String, Long> lastCallNanos() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        lastCallNanos.forEach((step, nanos) -> snapshot.put(step, nanos.get()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,70 @@
+-- Department-scoped tables for shards 1..N-1 when department.sharding.enabled=true.
+-- Shard 0 keeps using spring.jpa.hibernate.ddl-auto. Keep in sync with the JPA entities.
+-- category_code/status_code refer to issue_codes, which only exists on shard 0.
+
+CREATE TABLE IF NOT EXISTS department_issues (
+    department_id   bigint       NOT NULL,
+    issue_id        varchar(255) NOT NULL,
+    title           varchar(255),
+    description     varchar(255),
+    category_code   smallint,
+    photo_url       varchar(255),
+    user_id         varchar(255),
+    latitude        float(53),
+    longitude       float(53),
+    status_code     smallint,
+    created_at      timestamp(6),
+    duplicate_count integer,
+    PRIMARY KEY (department_id, issue_id)
+);
+
+CREATE TABLE IF NOT EXISTS department_issue_duplicates (
+    department_id      bigint       NOT NULL,
+    issue_id           varchar(255) NOT NULL,
+    canonical_issue_id varchar(255),
+    user_id            varchar(255),
+    latitude           float(53),
+    longitude          float(53),
+    created_at         timestamp(6),
+    PRIMARY KEY (department_id, issue_id)
+);
+
+CREATE TABLE IF NOT EXISTS department_issue_tiles (
+    department_id bigint       NOT NULL,
+    zoom          integer      NOT NULL,
+    tile_x        integer      NOT NULL,
+    tile_y        integer      NOT NULL,
+    category      varchar(255) NOT NULL,
+    status        varchar(255) NOT NULL,
+    issue_count   bigint       NOT NULL,
+    PRIMARY KEY (department_id, zoom, tile_x, tile_y, category, status)
+);
+
+CREATE INDEX IF NOT EXISTS idx_department_issue_tiles_tile
+    ON department_issue_tiles (zoom, tile_x, tile_y);
+CREATE INDEX IF NOT EXISTS idx_department_issue_tiles_department_tile
+    ON department_issue_tiles (department_id, zoom, tile_x, tile_y);
+
+CREATE TABLE IF NOT EXISTS department_issue_tile_backfills (
+    zoom         integer NOT NULL,
+    completed_at timestamp(6),
+    PRIMARY KEY (zoom)
+);
+
+CREATE TABLE IF NOT EXISTS department_issue_versions (
+    department_id bigint NOT NULL,
+    version       bigint NOT NULL,
+    updated_at    timestamp(6),
+    PRIMARY KEY (department_id)
+);
+
+CREATE TABLE IF NOT EXISTS issue_outbox (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY,
+    department_id      bigint,
+    issue_id           varchar(255),
+    canonical_issue_id varchar(255),
+    category           varchar(255),
+    status             varchar(255),
+    created_at         timestamp(6),
+    PRIMARY KEY (id)
+);
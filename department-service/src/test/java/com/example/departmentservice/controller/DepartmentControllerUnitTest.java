@@ -1,9 +1,14 @@
 package com.example.departmentservice.controller;
 
+import com.example.departmentservice.dto.CanonicalIssueDto;
 import com.example.departmentservice.dto.DepartmentDto;
+import com.example.departmentservice.dto.IssueTileDto;
 import com.example.departmentservice.model.Department;
 import com.example.departmentservice.service.DepartmentIssueService;
 import com.example.departmentservice.service.DepartmentService;
+import com.example.departmentservice.service.IssueListVersionService;
+import com.example.departmentservice.service.IssueTileService;
+import com.example.departmentservice.stream.IssueStreamRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,12 +18,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest(DepartmentController.class)
@@ -33,6 +44,15 @@ public class DepartmentControllerUnitTest {
     @MockBean
     private DepartmentIssueService departmentIssueService;
 
+    @MockBean
+    private IssueTileService issueTileService;
+
+    @MockBean
+    private IssueStreamRegistry issueStreamRegistry;
+
+    @MockBean
+    private IssueListVersionService issueListVersionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -118,4 +138,109 @@ public class DepartmentControllerUnitTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("Finance"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.description").value("Financial Department"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getDepartmentIssueTile_returnsOkAndTileCounts() throws Exception {
+        // Arrange
+        IssueTileDto tile = new IssueTileDto();
+        tile.setZoom(16);
+        tile.setX(38748);
+        tile.setY(24860);
+        tile.setTotal(3L);
+        tile.setByCategory(Map.of("Electrical", 2L, "Plumbing", 1L));
+        tile.setByStatus(Map.of("PENDING", 3L));
+        when(issueTileService.getTileForDepartment(1L, 16, 38748, 24860)).thenReturn(tile);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/departments/{id}/issues/tiles", 1L)
+                        .param("z", "16")
+                        .param("x", "38748")
+                        .param("y", "24860"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.zoom").value(16))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byCategory.Electrical").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byStatus.PENDING").value(3));
+    }
+
+    @Test
+    void getIssueTile_missingZoom_returnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/departments/issues/tiles")
+                        .param("x", "1")
+                        .param("y", "1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void getCanonicalDepartmentIssues_returnsOkAndDuplicateCounts() throws Exception {
+        // Arrange
+        CanonicalIssueDto canonicalIssue = new CanonicalIssueDto();
+        canonicalIssue.setIssueId("issue-1");
+        canonicalIssue.setCategory("Electrical");
+        canonicalIssue.setDuplicateCount(4);
+        when(departmentIssueService.getCanonicalIssuesForDepartment(1L)).thenReturn(List.of(canonicalIssue));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/departments/{id}/issues/canonical", 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].issueId").value("issue-1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].duplicateCount").value(4));
+    }
+
+    @Test
+    void getDepartmentIssues_withoutDuplicates_passesFlagToService() throws Exception {
+        // Arrange
+        when(issueListVersionService.currentVersion(1L)).thenReturn(3L);
+        when(issueListVersionService.eTag(1L, 3L)).thenReturn("\"1-3\"");
+        when(departmentIssueService.getIssuesForDepartment(1L, false, 3L)).thenReturn(List.of("issue-1"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/departments/{id}/issues", 1L)
+                        .param("includeDuplicates", "false"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0]").value("issue-1"));
+    }
+
+    @Test
+    void getDepartmentIssues_returnsETag() throws Exception {
+        // Arrange
+        when(issueListVersionService.currentVersion(1L)).thenReturn(3L);
+        when(issueListVersionService.eTag(1L, 3L)).thenReturn("\"1-3\"");
+        when(departmentIssueService.getIssuesForDepartment(1L, true, 3L)).thenReturn(List.of("issue-1"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/departments/{id}/issues", 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-3\""));
+    }
+
+    @Test
+    void getDepartmentIssues_matchingIfNoneMatch_returnsNotModifiedWithoutListQuery() throws Exception {
+        // Arrange
+        when(issueListVersionService.currentVersion(1L)).thenReturn(3L);
+        when(issueListVersionService.eTag(1L, 3L)).thenReturn("\"1-3\"");
+        when(issueListVersionService.isNotModified("\"1-3\"", "\"1-3\"")).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/departments/{id}/issues", 1L)
+                        .header("If-None-Match", "\"1-3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(departmentIssueService, never()).getIssuesForDepartment(anyLong(), anyBoolean(), anyLong());
+    }
+
+    @Test
+    void streamDepartmentIssues_passesLastEventIdAndStartsAsyncResponse() throws Exception {
+        // Arrange
+        when(issueStreamRegistry.subscribe(1L, "42")).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/departments/{id}/issues/stream", 1L)
+                        .header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        verify(issueStreamRegistry).subscribe(1L, "42");
+    }
+}
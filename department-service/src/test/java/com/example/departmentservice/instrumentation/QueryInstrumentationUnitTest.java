@@ -0,0 +1,134 @@
+package com.example.departmentservice.instrumentation;
+
+import com.example.departmentservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryInstrumentationUnitTest {
+
+    private static final String SELECT_ISSUE = "select * from department_issues where department_id=? and issue_id=?";
+
+    private static final Method SET_OBJECT = setObjectMethod();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void filter_recordsQueryCountAndDbTimePerEndpoint() throws Exception {
+        // Arrange
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, new SlowQueryLog(10, 10_000));
+        QueryInstrumentationFilter filter = new QueryInstrumentationFilter(meterRegistry, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/departments/1/issues");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/departments/{id}/issues");
+            runQuery(listener, "select * from department_issues where department_id=?", List.of(1L));
+            runQuery(listener, "select * from department_issue_duplicates where department_id=?", List.of(1L));
+        });
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("department.request.queries").tag("uri", "/departments/{id}/issues").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("department.request.db").tag("uri", "/departments/{id}/issues").timer().count());
+        assertEquals(1, meterRegistry.get("department.request.total").tag("uri", "/departments/{id}/issues").timer().count());
+        assertEquals(2, meterRegistry.get("department.db.queries").tag("type", "select").timer().count());
+        assertNull(RequestQueryStats.current());
+    }
+
+    @Test
+    void filter_sameStatementManyTimes_countsSuspectedNPlusOne() throws Exception {
+        // Arrange
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, new SlowQueryLog(10, 10_000));
+        QueryInstrumentationFilter filter = new QueryInstrumentationFilter(meterRegistry, 3);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/departments/1/issues/canonical");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/departments/{id}/issues/canonical");
+            for (int i = 0; i < 3; i++) {
+                runQuery(listener, SELECT_ISSUE, List.of(1L, "issue-" + i));
+            }
+        });
+
+        // Assert
+        assertEquals(1, meterRegistry.get("department.request.n_plus_one").tag("uri", "/departments/{id}/issues/canonical").counter().count());
+    }
+
+    @Test
+    void filter_queriesOnEveryShard_countTowardsTheRequest() throws Exception {
+        // Arrange
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, new SlowQueryLog(10, 10_000));
+        QueryInstrumentationFilter filter = new QueryInstrumentationFilter(meterRegistry, 10);
+        ShardRouter shardRouter = new ShardRouter(true, List.of("shard-0", "shard-1"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/departments/issues/tiles");
+
+        // Act
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/departments/issues/tiles");
+                shardRouter.onAllShards(() -> {
+                    runQuery(listener, "select * from department_issue_tiles where zoom=?", List.of(12));
+                    return RequestQueryStats.current();
+                }).forEach(Assertions::assertNotNull);
+            });
+        } finally {
+            shardRouter.shutdown();
+        }
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("department.request.queries").tag("uri", "/departments/issues/tiles").summary().totalAmount());
+    }
+
+    @Test
+    void listener_slowQuery_isCapturedWithParameters() {
+        // Arrange
+        SlowQueryLog slowQueryLog = new SlowQueryLog(2, 0);
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, slowQueryLog);
+
+        // Act
+        runQuery(listener, SELECT_ISSUE, List.of(1L, "issue-1"));
+        runQuery(listener, SELECT_ISSUE, List.of(1L, "issue-2"));
+        runQuery(listener, SELECT_ISSUE, List.of(1L, "issue-3"));
+
+        // Assert
+        List<SlowQueryLog.SlowQuery> slowQueries = slowQueryLog.snapshot();
+        assertEquals(2, slowQueries.size());
+        assertEquals(SELECT_ISSUE, slowQueries.get(0).sql());
+        assertTrue(slowQueries.get(0).parameters().get(0).contains("issue-3"));
+        assertTrue(slowQueries.get(1).parameters().get(0).contains("issue-2"));
+        assertEquals("background", slowQueries.get(0).endpoint());
+    }
+
+    private void runQuery(QueryMetricsListener listener, String sql, List<Object> parameters) {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        List<ParameterSetOperation> operations = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            operations.add(new ParameterSetOperation(SET_OBJECT, new Object[]{i + 1, parameters.get(i)}));
+        }
+        queryInfo.getParametersList().add(operations);
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        listener.beforeQuery(executionInfo, List.of(queryInfo));
+        listener.afterQuery(executionInfo, List.of(queryInfo));
+    }
+
+    private static Method setObjectMethod() {
+        try {
+            return PreparedStatement.class.getMethod("setObject", int.class, Object.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
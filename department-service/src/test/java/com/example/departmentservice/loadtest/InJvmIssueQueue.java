@@ -0,0 +1,99 @@
+package com.example.departmentservice.loadtest;
+
+import com.example.departmentservice.rabbitmq.IssueCreatedListener;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the {@code issue_created} AMQP queue. Messages are delivered as raw JSON strings to
+ * {@link IssueCreatedListener#receiveIssueCreatedEvent(String)} by a fixed number of consumer threads,
+ * the same way the Rabbit listener container would, so the broker itself is kept out of the measurement.
+ * Ingestion latency is recorded from the moment a message was scheduled to be published.
+ * A message whose listener call throws is counted as failed and the consumer moves on, like a
+ * container that rejects the delivery.
+ */
+class InJvmIssueQueue {
+
+    private final BlockingQueue<Delivery> queue = new LinkedBlockingQueue<>();
+    private final IssueCreatedListener listener;
+    private final Recorder ingestLatency;
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    InJvmIssueQueue(IssueCreatedListener listener, Recorder ingestLatency) {
+        this.listener = listener;
+        this.ingestLatency = ingestLatency;
+    }
+
+    void start(int consumerThreads) {
+        running = true;
+        for (int i = 0; i < consumerThreads; i++) {
+            Thread consumer = new Thread(this::consume, "in-jvm-amqp-consumer-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+    }
+
+    void publish(String body, long intendedStartNanos) {
+        queue.add(new Delivery(body, intendedStartNanos));
+    }
+
+    long consumed() {
+        return consumed.get();
+    }
+
+    long failed() {
+        return failed.get();
+    }
+
+    int backlog() {
+        return queue.size();
+    }
+
+    void drainAndStop(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!queue.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        running = false;
+        for (Thread consumer : consumers) {
+            consumer.join(unit.toMillis(timeout));
+        }
+    }
+
+    private void consume() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Delivery delivery = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (delivery == null) {
+                    continue;
+                }
+                try {
+                    listener.receiveIssueCreatedEvent(delivery.body());
+                } catch (RuntimeException e) {
+                    if (failed.incrementAndGet() == 1) {
+                        System.err.println("[InJvmIssueQueue] First failed delivery: " + e);
+                    }
+                    continue;
+                }
+                ingestLatency.recordValue(System.nanoTime() - delivery.intendedStartNanos());
+                consumed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private record Delivery(String body, long intendedStartNanos) {
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.departmentservice.loadtest;
+
+import com.example.departmentservice.dto.IssueDto;
+import com.example.departmentservice.model.Department;
+import com.example.departmentservice.rabbitmq.IssueCreatedListener;
+import com.example.departmentservice.repository.DepartmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Publishes synthetic {@link IssueDto} messages onto an in-JVM stand-in for {@code issue_created} at a fixed
+ * rate while reader threads poll {@code /departments/{id}/issues} and {@code /departments/{id}} over HTTP.
+ * Only runs with {@code -Pload-test} and a local Docker daemon; see {@link LoadTestSettings} for the knobs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "management.health.rabbit.enabled=false",
+        "department.outbox.relay.enabled=false",
+        "department.stream.fanout.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class IngestionReadLoadHarness {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    /**
+     * Shards 1..N-1 for {@code -Dloadtest.shards=N}; shard 0 is {@link #postgres}.
+     */
+    static final List<PostgreSQLContainer<?>> extraShards = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // Synthetic issues are packed into a small area, so with detection on most of them would take
+        // the cheaper duplicate path instead of the issue insert and tile upserts.
+        registry.add("department.duplicates.enabled", () -> Boolean.getBoolean("loadtest.duplicates"));
+
+        int shards = Integer.getInteger("loadtest.shards", 1);
+        if (shards > 1) {
+            List<String> shardUrls = new ArrayList<>(List.of(postgres.getJdbcUrl()));
+            for (int i = 1; i < shards; i++) {
+                PostgreSQLContainer<?> shard = new PostgreSQLContainer<>("postgres:16-alpine");
+                shard.start();
+                extraShards.add(shard);
+                shardUrls.add(shard.getJdbcUrl());
+            }
+            registry.add("department.sharding.enabled", () -> "true");
+            registry.add("department.sharding.urls", () -> String.join(",", shardUrls));
+            registry.add("department.sharding.initialize-schema", () -> "true");
+        }
+    }
+
+    @AfterAll
+    static void stopExtraShards() {
+        extraShards.forEach(PostgreSQLContainer::stop);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IssueCreatedListener issueCreatedListener;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void ingestAtFixedRateWhileReading() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> departmentIds = createDepartments(settings.departments());
+
+        Recorder ingestLatency = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        Recorder issuesReadLatency = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        Recorder departmentReadLatency = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        InJvmIssueQueue issueQueue = new InJvmIssueQueue(issueCreatedListener, ingestLatency);
+        issueQueue.start(settings.consumerThreads());
+
+        runPhase(settings, settings.warmUp(), departmentIds, issueQueue, issuesReadLatency, departmentReadLatency);
+        ingestLatency.reset();
+        issuesReadLatency.reset();
+        departmentReadLatency.reset();
+
+        long consumedBefore = issueQueue.consumed();
+        long failedBefore = issueQueue.failed();
+        PhaseResult result = runPhase(settings, settings.duration(), departmentIds, issueQueue,
+                issuesReadLatency, departmentReadLatency);
+        long consumedDuringRun = issueQueue.consumed() - consumedBefore;
+        long failedDuringRun = issueQueue.failed() - failedBefore;
+        int backlogAtEnd = issueQueue.backlog();
+        Histogram ingest = ingestLatency.getIntervalHistogram();
+        issueQueue.drainAndStop(1, TimeUnit.MINUTES);
+
+        Path reportDirectory = new LoadTestReport(settings, settings.duration())
+                .extra("published", result.published())
+                .extra("ingestedPerSecond", consumedDuringRun / (settings.duration().toMillis() / 1000.0))
+                .extra("backlogAtEnd", backlogAtEnd)
+                .extra("ingestFailures", failedDuringRun)
+                .extra("readErrors", result.readErrors())
+                .extra("conditionalReads", settings.conditionalReads())
+                .extra("duplicates", settings.duplicates())
+                .extra("shards", settings.shards())
+                .extra("issueReadsNotModified", result.issueReadsNotModified())
+                .histogram("ingest", ingest, consumedDuringRun)
+                .histogram("read-department-issues", issuesReadLatency.getIntervalHistogram(), result.issueReads())
+                .histogram("read-department", departmentReadLatency.getIntervalHistogram(), result.departmentReads())
+                .write();
+        System.out.println("[IngestionReadLoadHarness] Report written to " + reportDirectory.toAbsolutePath());
+
+        assertEquals(0, result.readErrors(), "reads should not fail under load");
+    }
+
+    private List<Long> createDepartments(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = "LoadTest-" + UUID.randomUUID();
+            ids.add(departmentRepository.save(new Department(name, "Load test department", true)).getId());
+        }
+        return ids;
+    }
+
+    private PhaseResult runPhase(LoadTestSettings settings, Duration duration, List<Long> departmentIds,
+                                 InJvmIssueQueue issueQueue, Recorder issuesReadLatency,
+                                 Recorder departmentReadLatency) throws Exception {
+        long endNanos = System.nanoTime() + duration.toNanos();
+        AtomicLong issueReads = new AtomicLong();
+        AtomicLong departmentReads = new AtomicLong();
+        AtomicLong issueReadsNotModified = new AtomicLong();
+        AtomicLong readErrors = new AtomicLong();
+
+        ExecutorService readers = Executors.newFixedThreadPool(settings.readerThreads());
+        List<Future<?>> readerFutures = new ArrayList<>();
+        for (int i = 0; i < settings.readerThreads(); i++) {
+            readerFutures.add(readers.submit(() -> read(endNanos, departmentIds, settings.conditionalReads(),
+                    issuesReadLatency, departmentReadLatency, issueReads, departmentReads, issueReadsNotModified,
+                    readErrors)));
+        }
+        long published = publishAtFixedRate(settings.ingestRatePerSecond(), endNanos, departmentIds, issueQueue);
+        for (Future<?> readerFuture : readerFutures) {
+            readerFuture.get();
+        }
+        readers.shutdown();
+        return new PhaseResult(published, issueReads.get(), departmentReads.get(), issueReadsNotModified.get(),
+                readErrors.get());
+    }
+
+    private long publishAtFixedRate(int ratePerSecond, long endNanos, List<Long> departmentIds,
+                                    InJvmIssueQueue issueQueue) throws Exception {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long nextSendNanos = System.nanoTime();
+        long published = 0;
+        while (nextSendNanos < endNanos) {
+            long now = System.nanoTime();
+            if (now < nextSendNanos) {
+                LockSupport.parkNanos(nextSendNanos - now);
+                continue;
+            }
+            // Latency is measured from the intended send time so a stalled publisher is not hidden.
+            issueQueue.publish(objectMapper.writeValueAsString(syntheticIssue(departmentIds)), nextSendNanos);
+            nextSendNanos += intervalNanos;
+            published++;
+        }
+        return published;
+    }
+
+    /**
+     * With {@code conditionalReads}, each reader behaves like a polling dashboard: it remembers the last
+     * ETag per department and sends it back as {@code If-None-Match}.
+     */
+    private void read(long endNanos, List<Long> departmentIds, boolean conditionalReads, Recorder issuesReadLatency,
+                      Recorder departmentReadLatency, AtomicLong issueReads, AtomicLong departmentReads,
+                      AtomicLong issueReadsNotModified, AtomicLong readErrors) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Long, String> eTags = new HashMap<>();
+        while (System.nanoTime() < endNanos) {
+            Long departmentId = departmentIds.get(random.nextInt(departmentIds.size()));
+            boolean issuesRead = random.nextInt(10) < 9;
+            String path = issuesRead ? "/departments/" + departmentId + "/issues" : "/departments/" + departmentId;
+            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET();
+            if (issuesRead && conditionalReads && eTags.containsKey(departmentId)) {
+                requestBuilder.header("If-None-Match", eTags.get(departmentId));
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = httpClient.send(requestBuilder.build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                long elapsed = System.nanoTime() - start;
+                boolean notModified = issuesRead && response.statusCode() == 304;
+                if (response.statusCode() != 200 && !notModified) {
+                    readErrors.incrementAndGet();
+                    continue;
+                }
+                if (issuesRead) {
+                    if (notModified) {
+                        issueReadsNotModified.incrementAndGet();
+                    }
+                    response.headers().firstValue("ETag").ifPresent(eTag -> eTags.put(departmentId, eTag));
+                    issuesReadLatency.recordValue(elapsed);
+                    issueReads.incrementAndGet();
+                } else {
+                    departmentReadLatency.recordValue(elapsed);
+                    departmentReads.incrementAndGet();
+                }
+            } catch (Exception e) {
+                readErrors.incrementAndGet();
+            }
+        }
+    }
+
+    private IssueDto syntheticIssue(List<Long> departmentIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        IssueDto issueDto = new IssueDto();
+        issueDto.setId(UUID.randomUUID().toString().replace("-", "").substring(0, 24));
+        issueDto.setDepartmentId(departmentIds.get(random.nextInt(departmentIds.size())));
+        issueDto.setTitle("Load test issue");
+        issueDto.setDescription("Synthetic issue generated by the load harness");
+        issueDto.setCategory(random.nextBoolean() ? "Electrical" : "Plumbing");
+        issueDto.setPhotoUrl("https://example.com/photo.jpg");
+        issueDto.setUserId("load-test-user");
+        issueDto.setLatitude(39.9 + random.nextDouble(0.01));
+        issueDto.setLongitude(32.85 + random.nextDouble(0.01));
+        issueDto.setStatus("PENDING");
+        issueDto.setCreatedAt(LocalDateTime.now());
+        return issueDto;
+    }
+
+    private record PhaseResult(long published, long issueReads, long departmentReads, long issueReadsNotModified,
+                               long readErrors) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.departmentservice.loadtest;
+
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.service.IssueCodeBackfill;
+import com.example.departmentservice.service.IssueCodeDictionary;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures {@code department_issues} size and scan time with the legacy text category/status columns,
+ * then again after {@link IssueCodeBackfill} moved them to {@code smallint} codes and the text columns
+ * were dropped. Row count comes from {@code -Dloadtest.storage-rows} (default 500000).
+ */
+@SpringBootTest(properties = {
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "management.health.rabbit.enabled=false",
+        "department.issue-codes.backfill.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class IssueStorageLoadHarness {
+
+    private static final int SCAN_WARMUP_RUNS = 3;
+    private static final int SCAN_RUNS = 20;
+    private static final String[] CATEGORIES = {"Electrical", "Plumbing", "Cleaning", "Heating", "Roads",
+            "Security", "Internet", "Furniture"};
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "RESOLVED", "REJECTED"};
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IssueCodeBackfill issueCodeBackfill;
+
+    @Autowired
+    private IssueCodeDictionary issueCodeDictionary;
+
+    @Test
+    void compareLegacyAndEncodedStorage() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        int rows = Integer.getInteger("loadtest.storage-rows", 500_000);
+        insertLegacyRows(rows);
+        compact();
+
+        Map<String, Object> before = tableSize();
+        Histogram scanBefore = timeScans(
+                "SELECT status, count(*) FROM department_issues GROUP BY status",
+                "SELECT count(*) FROM department_issues WHERE category = 'Electrical'");
+
+        long migrationStart = System.nanoTime();
+        long migrated = issueCodeBackfill.backfill();
+        Duration migration = Duration.ofNanos(System.nanoTime() - migrationStart);
+        jdbcTemplate.execute("ALTER TABLE department_issues DROP COLUMN category, DROP COLUMN status");
+        compact();
+
+        Map<String, Object> after = tableSize();
+        Short electrical = issueCodeDictionary.encode(IssueCode.CATEGORY, "Electrical");
+        Histogram scanAfter = timeScans(
+                "SELECT status_code, count(*) FROM department_issues GROUP BY status_code",
+                "SELECT count(*) FROM department_issues WHERE category_code = " + electrical);
+
+        Path reportDirectory = new LoadTestReport(settings, migration)
+                .extra("rows", rows)
+                .extra("migratedRows", migrated)
+                .extra("migrationSeconds", migration.toMillis() / 1000.0)
+                .extra("sizeBefore", before)
+                .extra("sizeAfter", after)
+                .histogram("scan-legacy-text", scanBefore, scanBefore.getTotalCount())
+                .histogram("scan-encoded", scanAfter, scanAfter.getTotalCount())
+                .write();
+        System.out.println("[IssueStorageLoadHarness] Report written to " + reportDirectory.toAbsolutePath());
+
+        assertEquals(rows, migrated);
+    }
+
+    // Rows as written before encoding: text category/status and no codes.
+    private void insertLegacyRows(int rows) {
+        jdbcTemplate.execute("ALTER TABLE department_issues ADD COLUMN IF NOT EXISTS category varchar(255), "
+                + "ADD COLUMN IF NOT EXISTS status varchar(255)");
+        jdbcTemplate.update("INSERT INTO department_issues (department_id, issue_id, title, description, category, "
+                + "status, photo_url, user_id, latitude, longitude, created_at, duplicate_count) "
+                + "SELECT 1 + (n % 50), substr(md5(n::text), 1, 24), 'Load test issue', 'Synthetic issue', "
+                + "(?::text[])[1 + n % ?], (?::text[])[1 + n % ?], 'https://example.com/photo.jpg', "
+                + "'load-test-user', 39.9 + random() / 100, 32.85 + random() / 100, now(), 0 "
+                + "FROM generate_series(1, ?) AS n",
+                "{" + String.join(",", CATEGORIES) + "}", CATEGORIES.length,
+                "{" + String.join(",", STATUSES) + "}", STATUSES.length, rows);
+    }
+
+    private void compact() {
+        jdbcTemplate.execute("VACUUM FULL ANALYZE department_issues");
+    }
+
+    private Map<String, Object> tableSize() {
+        Map<String, Object> size = new LinkedHashMap<>();
+        size.put("tableBytes", jdbcTemplate.queryForObject("SELECT pg_table_size('department_issues')", Long.class));
+        size.put("indexBytes", jdbcTemplate.queryForObject("SELECT pg_indexes_size('department_issues')", Long.class));
+        size.put("averageRowBytes", jdbcTemplate.queryForObject(
+                "SELECT avg(pg_column_size(i.*)) FROM department_issues i", Double.class));
+        return size;
+    }
+
+    private Histogram timeScans(String... queries) {
+        Histogram histogram = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        for (int run = 0; run < SCAN_WARMUP_RUNS + SCAN_RUNS; run++) {
+            for (String query : queries) {
+                long start = System.nanoTime();
+                jdbcTemplate.queryForList(query);
+                if (run >= SCAN_WARMUP_RUNS) {
+                    histogram.recordValue(System.nanoTime() - start);
+                }
+            }
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.departmentservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes one run's results under {@code target/load-test/<label>-<timestamp>/}: a {@code summary.json}
+ * with throughput and headline percentiles, and one {@code .hgrm} percentile distribution per histogram
+ * that can be loaded side by side with other runs in the HdrHistogram plotter.
+ */
+class LoadTestReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadTestSettings settings;
+    private final Duration measuredFor;
+    private final Map<String, Object> extra = new LinkedHashMap<>();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+
+    LoadTestReport(LoadTestSettings settings, Duration measuredFor) {
+        this.settings = settings;
+        this.measuredFor = measuredFor;
+    }
+
+    LoadTestReport histogram(String name, Histogram histogram, long operations) {
+        histograms.put(name, histogram);
+        counts.put(name, operations);
+        return this;
+    }
+
+    LoadTestReport extra(String name, Object value) {
+        extra.put(name, value);
+        return this;
+    }
+
+    Path write() throws IOException {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path directory = Paths.get("target", "load-test", settings.runLabel() + "-" + timestamp);
+        Files.createDirectories(directory);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", settings.runLabel());
+        summary.put("settings", settings);
+        summary.put("measuredSeconds", measuredFor.toMillis() / 1000.0);
+        summary.putAll(extra);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            summary.put(entry.getKey(), describe(entry.getValue(), counts.get(entry.getKey())));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+        objectMapper.writeValue(directory.resolve("summary.json").toFile(), summary);
+        System.out.println("[LoadTestReport] " + objectMapper.writeValueAsString(summary));
+        return directory;
+    }
+
+    private Map<String, Object> describe(Histogram histogram, long operations) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("operations", operations);
+        description.put("throughputPerSecond", operations / (measuredFor.toMillis() / 1000.0));
+        description.put("p50Millis", histogram.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        description.put("p90Millis", histogram.getValueAtPercentile(90) / NANOS_PER_MILLI);
+        description.put("p99Millis", histogram.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        description.put("p999Millis", histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI);
+        description.put("maxMillis", histogram.getMaxValue() / NANOS_PER_MILLI);
+        return description;
+    }
+}
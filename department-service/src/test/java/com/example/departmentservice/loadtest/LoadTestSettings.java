@@ -0,0 +1,33 @@
+package com.example.departmentservice.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from system properties so runs can be tuned from the command line:
+ * {@code mvn -Pload-test test -Dloadtest.ingest-rate=500 -Dloadtest.duration-seconds=120}
+ */
+record LoadTestSettings(int ingestRatePerSecond,
+                        Duration warmUp,
+                        Duration duration,
+                        int departments,
+                        int readerThreads,
+                        int consumerThreads,
+                        boolean conditionalReads,
+                        boolean duplicates,
+                        int shards,
+                        String runLabel) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.ingest-rate", 200),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                Integer.getInteger("loadtest.departments", 20),
+                Integer.getInteger("loadtest.reader-threads", 8),
+                Integer.getInteger("loadtest.consumer-threads", 1),
+                Boolean.getBoolean("loadtest.conditional-reads"),
+                Boolean.getBoolean("loadtest.duplicates"),
+                Integer.getInteger("loadtest.shards", 1),
+                System.getProperty("loadtest.label", "baseline"));
+    }
+}
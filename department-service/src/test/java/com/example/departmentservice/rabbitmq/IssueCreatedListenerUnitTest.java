@@ -0,0 +1,157 @@
+package com.example.departmentservice.rabbitmq;
+
+import com.example.departmentservice.model.DepartmentIssue;
+import com.example.departmentservice.model.DepartmentIssueDuplicate;
+import com.example.departmentservice.model.DepartmentIssueId;
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.model.IssueOutboxEntry;
+import com.example.departmentservice.repository.DepartmentIssueDuplicateRepository;
+import com.example.departmentservice.repository.DepartmentIssueRepository;
+import com.example.departmentservice.repository.IssueOutboxRepository;
+import com.example.departmentservice.service.DuplicateIssueIndex;
+import com.example.departmentservice.service.IssueCodeDictionary;
+import com.example.departmentservice.service.IssueIngestionService;
+import com.example.departmentservice.service.IssueListVersionService;
+import com.example.departmentservice.service.IssueTileService;
+import com.example.departmentservice.sharding.ShardRouter;
+import com.example.departmentservice.stream.IssueIngestedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class IssueCreatedListenerUnitTest {
+
+    @Mock
+    private DepartmentIssueRepository departmentIssueRepository;
+
+    @Mock
+    private DepartmentIssueDuplicateRepository departmentIssueDuplicateRepository;
+
+    @Mock
+    private IssueTileService issueTileService;
+
+    @Mock
+    private IssueListVersionService issueListVersionService;
+
+    @Mock
+    private IssueOutboxRepository issueOutboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IssueCodeDictionary issueCodeDictionary;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IssueCreatedListener issueCreatedListener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        DuplicateIssueIndex duplicateIssueIndex = new DuplicateIssueIndex(new SimpleMeterRegistry(), true, 50, 15, 7, 100);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        IssueIngestionService issueIngestionService = new IssueIngestionService(departmentIssueRepository,
+                departmentIssueDuplicateRepository, duplicateIssueIndex, issueTileService, issueListVersionService,
+                issueOutboxRepository, eventPublisher, issueCodeDictionary, transactionManager);
+        issueCreatedListener = new IssueCreatedListener(issueIngestionService, new ShardRouter(false, List.of()),
+                objectMapper);
+    }
+
+    @Test
+    void receiveIssueCreatedEvent_newIssue_savesIssueAndRecordsTiles() {
+        // Act
+        issueCreatedListener.receiveIssueCreatedEvent(message("issue-1", 39.93340, "2026-05-01T10:00:00"));
+
+        // Assert
+        ArgumentCaptor<DepartmentIssue> saved = ArgumentCaptor.forClass(DepartmentIssue.class);
+        verify(departmentIssueRepository).save(saved.capture());
+        assertEquals("issue-1", saved.getValue().getId().getIssueId());
+        assertEquals(0, saved.getValue().getDuplicate_count());
+        verify(issueTileService).recordIssue(saved.getValue());
+        verify(issueListVersionService).bumpVersion(1L);
+        verify(departmentIssueDuplicateRepository, never()).save(any());
+        ArgumentCaptor<IssueIngestedEvent> event = ArgumentCaptor.forClass(IssueIngestedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("issue-1", event.getValue().issue().getId());
+        assertFalse(event.getValue().isDuplicate());
+        ArgumentCaptor<IssueOutboxEntry> outbox = ArgumentCaptor.forClass(IssueOutboxEntry.class);
+        verify(issueOutboxRepository).save(outbox.capture());
+        assertEquals("issue-1", outbox.getValue().getIssue_id());
+        assertNull(outbox.getValue().getCanonical_issue_id());
+    }
+
+    @Test
+    void receiveIssueCreatedEvent_newIssue_registersCodesBeforeTransaction() {
+        // Act
+        issueCreatedListener.receiveIssueCreatedEvent(message("issue-1", 39.93340, "2026-05-01T10:00:00"));
+
+        // Assert
+        var inOrder = inOrder(issueCodeDictionary, transactionManager, departmentIssueRepository);
+        inOrder.verify(issueCodeDictionary).encode(IssueCode.CATEGORY, "Electrical");
+        inOrder.verify(issueCodeDictionary).encode(IssueCode.STATUS, "PENDING");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(departmentIssueRepository).save(any(DepartmentIssue.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void receiveIssueCreatedEvent_nearbyRecentReport_isLinkedToCanonicalIssue() {
+        // Arrange
+        issueCreatedListener.receiveIssueCreatedEvent(message("issue-1", 39.93340, "2026-05-01T10:00:00"));
+
+        // Act
+        issueCreatedListener.receiveIssueCreatedEvent(message("issue-2", 39.93350, "2026-05-01T10:04:00"));
+
+        // Assert
+        ArgumentCaptor<DepartmentIssueDuplicate> duplicate = ArgumentCaptor.forClass(DepartmentIssueDuplicate.class);
+        verify(departmentIssueDuplicateRepository).save(duplicate.capture());
+        assertEquals("issue-2", duplicate.getValue().getId().getIssueId());
+        assertEquals("issue-1", duplicate.getValue().getCanonical_issue_id());
+        verify(departmentIssueRepository).incrementDuplicateCount(1L, "issue-1");
+        verify(departmentIssueRepository, times(1)).save(any(DepartmentIssue.class));
+        verify(issueTileService, times(1)).recordIssue(any());
+        verify(issueListVersionService, times(2)).bumpVersion(1L);
+        ArgumentCaptor<IssueIngestedEvent> events = ArgumentCaptor.forClass(IssueIngestedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals("issue-1", events.getAllValues().get(1).canonicalIssueId());
+        ArgumentCaptor<IssueOutboxEntry> outbox = ArgumentCaptor.forClass(IssueOutboxEntry.class);
+        verify(issueOutboxRepository, times(2)).save(outbox.capture());
+        assertEquals("issue-1", outbox.getAllValues().get(1).getCanonical_issue_id());
+    }
+
+    @Test
+    void receiveIssueCreatedEvent_redeliveredIssue_isIgnored() {
+        // Arrange
+        when(departmentIssueRepository.existsById(new DepartmentIssueId(1L, "issue-1"))).thenReturn(true);
+
+        // Act
+        issueCreatedListener.receiveIssueCreatedEvent(message("issue-1", 39.93340, "2026-05-01T10:00:00"));
+
+        // Assert
+        verify(departmentIssueRepository, never()).save(any());
+        verifyNoInteractions(issueTileService);
+        verifyNoInteractions(eventPublisher);
+        verifyNoInteractions(issueListVersionService);
+        verifyNoInteractions(issueOutboxRepository);
+    }
+
+    private String message(String issueId, double latitude, String createdAt) {
+        return "{\"id\":\"" + issueId + "\",\"title\":\"Broken light\",\"category\":\"Electrical\","
+                + "\"departmentId\":1,\"latitude\":" + latitude + ",\"longitude\":32.8597,"
+                + "\"status\":\"PENDING\",\"createdAt\":\"" + createdAt + "\"}";
+    }
+}
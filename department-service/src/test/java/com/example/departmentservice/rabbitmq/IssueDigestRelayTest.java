@@ -0,0 +1,256 @@
+package com.example.departmentservice.rabbitmq;
+
+import com.example.departmentservice.config.RabbitMQConfig;
+import com.example.departmentservice.dto.IssueDigestDto;
+import com.example.departmentservice.dto.IssueDigestEntryDto;
+import com.example.departmentservice.model.IssueOutboxEntry;
+import com.example.departmentservice.repository.IssueOutboxRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class IssueDigestRelayTest {
+
+    @Mock
+    private IssueOutboxRepository issueOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<IssueOutboxEntry> outbox = new ArrayList<>();
+    private final BrokerStandIn broker = new BrokerStandIn();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(issueOutboxRepository.lockPending(anyInt())).thenAnswer(invocation ->
+                List.copyOf(outbox.subList(0, Math.min(invocation.<Integer>getArgument(0), outbox.size()))));
+        doAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            Set<Long> deleted = new HashSet<>();
+            ids.forEach(deleted::add);
+            outbox.removeIf(entry -> deleted.contains(entry.getId()));
+            return null;
+        }).when(issueOutboxRepository).deleteAllByIdInBatch(any());
+        when(issueOutboxRepository.count()).thenAnswer(invocation -> (long) outbox.size());
+        when(issueOutboxRepository.findOldestCreatedAt()).thenAnswer(invocation -> outbox.stream()
+                .map(IssueOutboxEntry::getCreated_at).min(Comparator.naturalOrder()).orElse(null));
+    }
+
+    @Test
+    void relay_publishesOneDigestPerDepartmentWithEveryIssue() throws IOException {
+        // Arrange
+        List<String> ingested = ingest(1000, 10);
+
+        // Act
+        long relayed = relay(2000).relay();
+
+        // Assert
+        assertEquals(1000, relayed);
+        assertEquals(10, broker.queue.size());
+        assertIssuesDeliveredOnce(ingested);
+        assertTrue(outbox.isEmpty());
+        assertEquals(10, meterRegistry.get("department.outbox.digests.published").counter().count());
+        assertEquals(1000, meterRegistry.get("department.outbox.issues.relayed").counter().count());
+        assertEquals(1000, meterRegistry.get("department.outbox.lag").timer().count());
+    }
+
+    @Test
+    void relay_smallBatches_stillDrainsOutboxInOneRun() throws IOException {
+        // Arrange
+        List<String> ingested = ingest(1000, 10);
+
+        // Act
+        relay(100).relay();
+
+        // Assert
+        assertEquals(100, broker.queue.size());
+        assertIssuesDeliveredOnce(ingested);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void relay_duplicatesAreCountedAndKeepTheirCanonicalIssue() throws IOException {
+        // Arrange
+        outbox.add(entry(1L, 3L, "issue-1", null));
+        outbox.add(entry(2L, 3L, "issue-2", "issue-1"));
+
+        // Act
+        relay(100).relay();
+
+        // Assert
+        IssueDigestDto digest = broker.digests().get(0);
+        assertEquals(3L, digest.getDepartmentId());
+        assertEquals(1, digest.getIssueCount());
+        assertEquals(1, digest.getDuplicateCount());
+        assertEquals("issue-1", digest.getIssues().get(1).getCanonicalIssueId());
+        assertEquals("3-1-2", digest.getDigestId());
+    }
+
+    @Test
+    void relay_brokerNack_keepsEntriesUntilALaterRunIsConfirmed() throws IOException {
+        // Arrange
+        List<String> ingested = ingest(300, 3);
+        IssueDigestRelay relay = relay(100);
+        broker.nack = true;
+
+        // Act
+        long failedRun = relay.relay();
+        double pendingAfterFailure = meterRegistry.get("department.outbox.pending").tag("shard", "0").gauge().value();
+        double oldestAgeAfterFailure = meterRegistry.get("department.outbox.oldest.age").tag("shard", "0")
+                .timeGauge().value(TimeUnit.SECONDS);
+        broker.nack = false;
+        long retriedRun = relay.relay();
+
+        // Assert
+        assertEquals(0, failedRun);
+        assertEquals(300, pendingAfterFailure);
+        assertTrue(oldestAgeAfterFailure >= 5);
+        assertEquals(0, meterRegistry.get("department.outbox.pending").tag("shard", "0").gauge().value());
+        assertEquals(0, meterRegistry.get("department.outbox.oldest.age").tag("shard", "0").timeGauge().value());
+        assertEquals(300, retriedRun);
+        assertEquals(1, meterRegistry.get("department.outbox.relay.failures").counter().count());
+        assertIssuesDeliveredOnce(ingested);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void start_disabled_doesNotTouchOutbox() throws InterruptedException {
+        // Arrange
+        IssueDigestRelay relay = new IssueDigestRelay(issueOutboxRepository, broker.template,
+                new ShardRouter(false, List.of()), transactionManager, objectMapper, meterRegistry, false, 100, 20, 5000, 10);
+
+        // Act
+        relay.start();
+        Thread.sleep(100);
+        relay.shutdown();
+
+        // Assert
+        verifyNoInteractions(issueOutboxRepository);
+    }
+
+    @Test
+    void start_relaysEveryShardOnItsOwnThread() throws InterruptedException {
+        // Arrange
+        ingest(10, 2);
+        ShardRouter shardRouter = new ShardRouter(true, List.of("jdbc:a", "jdbc:b"));
+        IssueDigestRelay relay = new IssueDigestRelay(issueOutboxRepository, broker.template,
+                shardRouter, transactionManager, objectMapper, meterRegistry, true, 100, 20, 5000, 10);
+        List<String> relayThreads = new CopyOnWriteArrayList<>();
+        when(issueOutboxRepository.lockPending(anyInt())).thenAnswer(invocation -> {
+            relayThreads.add(Thread.currentThread().getName());
+            return List.copyOf(outbox.subList(0, Math.min(invocation.<Integer>getArgument(0), outbox.size())));
+        });
+
+        // Act
+        relay.start();
+        Thread.sleep(200);
+        relay.shutdown();
+        shardRouter.shutdown();
+
+        // Assert: the scatter threads stay free for requests
+        assertTrue(outbox.isEmpty());
+        assertEquals(2, broker.queue.size());
+        assertTrue(relayThreads.stream().allMatch("issue-digest-relay"::equals));
+    }
+
+    private IssueDigestRelay relay(int batchSize) {
+        return new IssueDigestRelay(issueOutboxRepository, broker.template, new ShardRouter(false, List.of()),
+                transactionManager, objectMapper, meterRegistry, true, batchSize, 20, 5000, 30000);
+    }
+
+    private List<String> ingest(int issues, int departments) {
+        List<String> issueIds = new ArrayList<>();
+        for (int i = 0; i < issues; i++) {
+            String issueId = "issue-" + i;
+            outbox.add(entry((long) i + 1, (long) (i % departments) + 1, issueId, null));
+            issueIds.add(issueId);
+        }
+        return issueIds;
+    }
+
+    private void assertIssuesDeliveredOnce(List<String> ingested) throws IOException {
+        List<String> delivered = new ArrayList<>();
+        for (IssueDigestDto digest : broker.digests()) {
+            digest.getIssues().stream().map(IssueDigestEntryDto::getIssueId).forEach(delivered::add);
+        }
+        assertEquals(ingested.size(), delivered.size());
+        assertEquals(new HashSet<>(ingested), new HashSet<>(delivered));
+    }
+
+    private static IssueOutboxEntry entry(Long id, Long departmentId, String issueId, String canonicalIssueId) {
+        IssueOutboxEntry entry = new IssueOutboxEntry();
+        entry.setId(id);
+        entry.setDepartment_id(departmentId);
+        entry.setIssue_id(issueId);
+        entry.setCanonical_issue_id(canonicalIssueId);
+        entry.setCategory("Electrical");
+        entry.setStatus("PENDING");
+        entry.setCreated_at(LocalDateTime.now().minusSeconds(5));
+        return entry;
+    }
+
+    /**
+     * Stands in for the broker behind a confirm-enabled channel: messages sent on the channel reach the
+     * queue only when {@code waitForConfirmsOrDie} succeeds, and are dropped when the broker nacks them.
+     */
+    private class BrokerStandIn {
+        private final RabbitTemplate template = mock(RabbitTemplate.class);
+        private final List<Message> queue = new ArrayList<>();
+        private boolean nack;
+
+        @SuppressWarnings("unchecked")
+        BrokerStandIn() {
+            when(template.invoke(any())).thenAnswer(invocation -> {
+                List<Message> unconfirmed = new ArrayList<>();
+                RabbitOperations channel = mock(RabbitOperations.class);
+                doAnswer(send -> {
+                    assertEquals(RabbitMQConfig.ISSUE_DIGEST_QUEUE, send.getArgument(1));
+                    unconfirmed.add(send.getArgument(2));
+                    return null;
+                }).when(channel).send(eq(""), anyString(), any(Message.class));
+                doAnswer(confirm -> {
+                    if (nack) {
+                        throw new AmqpIOException(new IOException("nacks received"));
+                    }
+                    queue.addAll(unconfirmed);
+                    return null;
+                }).when(channel).waitForConfirmsOrDie(anyLong());
+                return invocation.<RabbitOperations.OperationsCallback<Object>>getArgument(0).doInRabbit(channel);
+            });
+        }
+
+        List<IssueDigestDto> digests() throws IOException {
+            List<IssueDigestDto> digests = new ArrayList<>();
+            for (Message message : queue) {
+                digests.add(objectMapper.readValue(message.getBody(), IssueDigestDto.class));
+            }
+            return digests;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.model.DepartmentIssue;
+import com.example.departmentservice.model.DepartmentIssueId;
+import com.example.departmentservice.repository.DepartmentIssueDuplicateRepository;
+import com.example.departmentservice.repository.DepartmentIssueRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DepartmentIssueServiceUnitTest {
+
+    @Mock
+    private DepartmentIssueRepository departmentIssueRepository;
+
+    @Mock
+    private DepartmentIssueDuplicateRepository departmentIssueDuplicateRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private RequestCoalescer requestCoalescer;
+    private DepartmentIssueService departmentIssueService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        requestCoalescer = new RequestCoalescer(meterRegistry, true, 5000);
+        departmentIssueService = new DepartmentIssueService(departmentIssueRepository,
+                departmentIssueDuplicateRepository, requestCoalescer,
+                new ShardRouter(false, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getIssuesForDepartment_newerVersion_doesNotJoinLoadStartedBeforeInsert() throws Exception {
+        // Arrange
+        CountDownLatch oldLoadStarted = new CountDownLatch(1);
+        CountDownLatch releaseOldLoad = new CountDownLatch(1);
+        when(departmentIssueRepository.findByIdDepartmentId(1L))
+                .thenAnswer(invocation -> {
+                    oldLoadStarted.countDown();
+                    assertTrue(releaseOldLoad.await(5, TimeUnit.SECONDS));
+                    return List.of(issue("issue-1"));
+                })
+                .thenReturn(List.of(issue("issue-1"), issue("issue-2")));
+        Future<List<String>> oldLoad = executor.submit(() -> departmentIssueService.getIssuesForDepartment(1L, false, 1L));
+        assertTrue(oldLoadStarted.await(5, TimeUnit.SECONDS));
+
+        // Act: issue-2 committed and bumped the version to 2 while the first load was running.
+        Future<List<String>> newLoad = executor.submit(() -> departmentIssueService.getIssuesForDepartment(1L, false, 2L));
+        List<String> afterInsert = newLoad.get(5, TimeUnit.SECONDS);
+        releaseOldLoad.countDown();
+
+        // Assert
+        assertEquals(List.of("issue-1", "issue-2"), afterInsert);
+        assertEquals(List.of("issue-1"), oldLoad.get(5, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.counter("department.coalescing.calls", "outcome", "coalesced").count());
+    }
+
+    @Test
+    void getIssuesForDepartment_sameVersion_sharesInFlightLoad() throws Exception {
+        // Arrange
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(departmentIssueRepository.findByIdDepartmentId(1L)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            assertTrue(releaseLoad.await(5, TimeUnit.SECONDS));
+            return List.of(issue("issue-1"));
+        });
+        Future<List<String>> leader = executor.submit(() -> departmentIssueService.getIssuesForDepartment(1L, false, 1L));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<List<String>> follower = executor.submit(() -> departmentIssueService.getIssuesForDepartment(1L, false, 1L));
+        RequestCoalescerTest.awaitFollowers(requestCoalescer, 1);
+        releaseLoad.countDown();
+
+        // Assert
+        assertEquals(List.of("issue-1"), leader.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("issue-1"), follower.get(5, TimeUnit.SECONDS));
+        verify(departmentIssueRepository, times(1)).findByIdDepartmentId(1L);
+    }
+
+    private static DepartmentIssue issue(String issueId) {
+        DepartmentIssue departmentIssue = new DepartmentIssue();
+        departmentIssue.setId(new DepartmentIssueId(1L, issueId));
+        return departmentIssue;
+    }
+}
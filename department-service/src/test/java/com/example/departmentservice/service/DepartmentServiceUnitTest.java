@@ -2,11 +2,13 @@ package com.example.departmentservice.service;
 
 import com.example.departmentservice.model.Department;
 import com.example.departmentservice.repository.DepartmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -23,6 +25,9 @@ public class DepartmentServiceUnitTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry(), true, 2000);
+
     @InjectMocks
     private DepartmentService departmentService;
 
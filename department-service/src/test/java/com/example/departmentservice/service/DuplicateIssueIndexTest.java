@@ -0,0 +1,87 @@
+package com.example.departmentservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DuplicateIssueIndexTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalDateTime now = LocalDateTime.now();
+    private DuplicateIssueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DuplicateIssueIndex(meterRegistry, true, 50, 15, 7, 100);
+        index.register(1L, "canonical-1", "Electrical", 39.93340, 32.85970, now);
+    }
+
+    @Test
+    void findCanonicalIssueId_sameCategoryNearbyAndRecent_returnsCanonical() {
+        // About 20 meters north, five minutes later
+        String canonical = index.findCanonicalIssueId(1L, "Electrical", 39.93358, 32.85970, now.plusMinutes(5));
+
+        assertEquals("canonical-1", canonical);
+        assertEquals(1, meterRegistry.counter("department.duplicates.detected").count());
+    }
+
+    @Test
+    void findCanonicalIssueId_acrossGeohashCellBoundary_returnsCanonical() {
+        // Points either side of a cell edge: found through the neighbouring cells
+        String edgeCell = Geohash.encode(39.93340, 32.85970, 7);
+        double latitude = 39.93340;
+        double longitude = 32.85970;
+        while (Geohash.encode(latitude, longitude, 7).equals(edgeCell)) {
+            longitude += 0.00005;
+        }
+
+        String canonical = index.findCanonicalIssueId(1L, "Electrical", latitude, longitude, now);
+
+        assertNotEquals(edgeCell, Geohash.encode(latitude, longitude, 7));
+        assertEquals("canonical-1", canonical);
+    }
+
+    @Test
+    void findCanonicalIssueId_tooFarAway_returnsNull() {
+        // About 110 meters north
+        assertNull(index.findCanonicalIssueId(1L, "Electrical", 39.93440, 32.85970, now));
+    }
+
+    @Test
+    void findCanonicalIssueId_outsideTimeWindow_returnsNull() {
+        assertNull(index.findCanonicalIssueId(1L, "Electrical", 39.93340, 32.85970, now.plusMinutes(16)));
+    }
+
+    @Test
+    void findCanonicalIssueId_otherCategoryOrDepartment_returnsNull() {
+        assertNull(index.findCanonicalIssueId(1L, "Plumbing", 39.93340, 32.85970, now));
+        assertNull(index.findCanonicalIssueId(2L, "Electrical", 39.93340, 32.85970, now));
+    }
+
+    @Test
+    void findCanonicalIssueId_withoutCoordinates_returnsNull() {
+        assertNull(index.findCanonicalIssueId(1L, "Electrical", null, null, now));
+    }
+
+    @Test
+    void findCanonicalIssueId_disabled_returnsNull() {
+        DuplicateIssueIndex disabled = new DuplicateIssueIndex(meterRegistry, false, 50, 15, 7, 100);
+        disabled.register(1L, "canonical-1", "Electrical", 39.93340, 32.85970, now);
+
+        assertNull(disabled.findCanonicalIssueId(1L, "Electrical", 39.93340, 32.85970, now));
+    }
+
+    @Test
+    void evictExpired_removesIssuesOlderThanWindow() {
+        index.register(1L, "old", "Plumbing", 39.93340, 32.85970, now.minusMinutes(30));
+
+        index.evictExpired();
+
+        assertNull(index.findCanonicalIssueId(1L, "Plumbing", 39.93340, 32.85970, now.minusMinutes(30)));
+        assertEquals("canonical-1", index.findCanonicalIssueId(1L, "Electrical", 39.93340, 32.85970, now));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.model.IssueCode;
+import com.example.departmentservice.model.IssueCodeId;
+import com.example.departmentservice.repository.IssueCodeRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class IssueCodeDictionaryTest {
+
+    @Mock
+    private IssueCodeRepository issueCodeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IssueCodeDictionary issueCodeDictionary;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        issueCodeDictionary = new IssueCodeDictionary(issueCodeRepository, new ShardRouter(false, List.of()),
+                transactionManager, 10000, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        issueCodeDictionary.shutdown();
+    }
+
+    @Test
+    void encode_knownValue_isLoadedOnceAndCached() {
+        // Arrange
+        when(issueCodeRepository.findByIdKind(IssueCode.STATUS)).thenReturn(List.of(code(IssueCode.STATUS, 1, "PENDING")));
+
+        // Act
+        Short first = issueCodeDictionary.encode(IssueCode.STATUS, "PENDING");
+        Short second = issueCodeDictionary.encode(IssueCode.STATUS, "PENDING");
+
+        // Assert
+        assertEquals((short) 1, first);
+        assertEquals((short) 1, second);
+        verify(issueCodeRepository, times(1)).findByIdKind(IssueCode.STATUS);
+        verify(issueCodeRepository, never()).insertNextCode(any(), any());
+    }
+
+    @Test
+    void encode_unknownValue_assignsNextCode() {
+        // Arrange
+        when(issueCodeRepository.findByIdKind(IssueCode.CATEGORY))
+                .thenReturn(List.of(code(IssueCode.CATEGORY, 1, "Electrical")))
+                .thenReturn(List.of(code(IssueCode.CATEGORY, 1, "Electrical"), code(IssueCode.CATEGORY, 2, "Roads")));
+
+        // Act
+        Short roads = issueCodeDictionary.encode(IssueCode.CATEGORY, "Roads");
+
+        // Assert
+        assertEquals((short) 2, roads);
+        verify(issueCodeRepository).insertNextCode(IssueCode.CATEGORY, "Roads");
+        assertEquals("Roads", issueCodeDictionary.decode(IssueCode.CATEGORY, (short) 2));
+    }
+
+    @Test
+    void encodeAndDecode_null_staysNull() {
+        // Act & Assert
+        assertNull(issueCodeDictionary.encode(IssueCode.CATEGORY, null));
+        assertNull(issueCodeDictionary.decode(IssueCode.CATEGORY, null));
+        verifyNoInteractions(issueCodeRepository);
+    }
+
+    @Test
+    void decode_codeAssignedElsewhere_reloadsDictionary() {
+        // Arrange
+        when(issueCodeRepository.findByIdKind(IssueCode.STATUS)).thenReturn(List.of(code(IssueCode.STATUS, 3, "RESOLVED")));
+
+        // Act & Assert
+        assertEquals("RESOLVED", issueCodeDictionary.decode(IssueCode.STATUS, (short) 3));
+    }
+
+    @Test
+    void decode_missedCodeInsideOpenTransaction_refreshesOnAnotherThread() {
+        // Arrange: the reader already holds a transaction, as it does while Hibernate decodes a row
+        List<Thread> transactionThreads = new CopyOnWriteArrayList<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            transactionThreads.add(Thread.currentThread());
+            return null;
+        });
+        when(issueCodeRepository.findByIdKind(IssueCode.CATEGORY)).thenReturn(List.of(code(IssueCode.CATEGORY, 5, "Lighting")));
+
+        // Act
+        String value = new TransactionTemplate(transactionManager).execute(status ->
+                issueCodeDictionary.decode(IssueCode.CATEGORY, (short) 5));
+
+        // Assert: the only transaction on the reader's thread is its own
+        assertEquals("Lighting", value);
+        assertEquals(1, transactionThreads.stream().filter(thread -> thread == Thread.currentThread()).count());
+        assertTrue(transactionThreads.size() > 1);
+    }
+
+    @Test
+    void decode_concurrentMisses_shareOneRefresh() throws Exception {
+        // Arrange: the refresh is held until every reader is waiting for it
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        when(issueCodeRepository.findByIdKind(IssueCode.CATEGORY)).thenAnswer(invocation -> {
+            assertTrue(releaseRefresh.await(5, TimeUnit.SECONDS));
+            return List.of(code(IssueCode.CATEGORY, 5, "Lighting"));
+        });
+        List<Thread> readers = new ArrayList<>();
+        List<String> decoded = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            readers.add(new Thread(() -> decoded.add(issueCodeDictionary.decode(IssueCode.CATEGORY, (short) 5))));
+        }
+
+        // Act
+        readers.forEach(Thread::start);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (readers.stream().anyMatch(reader -> reader.getState() != Thread.State.TIMED_WAITING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        releaseRefresh.countDown();
+        for (Thread reader : readers) {
+            reader.join(5000);
+        }
+
+        // Assert: at most the refresh that was running plus one queued behind it
+        assertEquals(8, decoded.size());
+        verify(issueCodeRepository, atMost(2)).findByIdKind(IssueCode.CATEGORY);
+    }
+
+    @Test
+    void decode_unknownCode_throws() {
+        // Arrange
+        when(issueCodeRepository.findByIdKind(IssueCode.STATUS)).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> issueCodeDictionary.decode(IssueCode.STATUS, (short) 9));
+    }
+
+    @Test
+    void lookup_encodedValue_returnsCodeWithoutDatabaseAccess() {
+        // Arrange
+        when(issueCodeRepository.findByIdKind(IssueCode.CATEGORY)).thenReturn(List.of(code(IssueCode.CATEGORY, 4, "Roads")));
+        issueCodeDictionary.encode(IssueCode.CATEGORY, "Roads");
+        clearInvocations(issueCodeRepository, transactionManager);
+
+        // Act
+        Short code = issueCodeDictionary.lookup(IssueCode.CATEGORY, "Roads");
+
+        // Assert
+        assertEquals((short) 4, code);
+        verifyNoInteractions(issueCodeRepository, transactionManager);
+    }
+
+    @Test
+    void lookup_unregisteredValue_throwsInsteadOfAssigning() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> issueCodeDictionary.lookup(IssueCode.CATEGORY, "Roads"));
+        verifyNoInteractions(issueCodeRepository, transactionManager);
+    }
+
+    private IssueCode code(String kind, int code, String value) {
+        return new IssueCode(new IssueCodeId(kind, (short) code), value);
+    }
+}
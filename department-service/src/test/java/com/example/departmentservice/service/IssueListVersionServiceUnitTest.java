@@ -0,0 +1,78 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.repository.DepartmentIssueVersionRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class IssueListVersionServiceUnitTest {
+
+    @Mock
+    private DepartmentIssueVersionRepository departmentIssueVersionRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IssueListVersionService issueListVersionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        issueListVersionService = new IssueListVersionService(departmentIssueVersionRepository,
+                new ShardRouter(false, List.of()), meterRegistry);
+    }
+
+    @Test
+    void currentETag_includesDepartmentAndVersion() {
+        // Arrange
+        when(departmentIssueVersionRepository.findVersionByDepartmentId(1L)).thenReturn(Optional.of(7L));
+
+        // Act & Assert
+        assertEquals("\"1-7\"", issueListVersionService.currentETag(1L));
+    }
+
+    @Test
+    void currentETag_departmentWithoutIssues_usesVersionZero() {
+        // Arrange
+        when(departmentIssueVersionRepository.findVersionByDepartmentId(2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals("\"2-0\"", issueListVersionService.currentETag(2L));
+    }
+
+    @Test
+    void isNotModified_matchingWeakOrListedETag_returnsTrue() {
+        // Act & Assert
+        assertTrue(issueListVersionService.isNotModified("\"1-7\"", "\"1-7\""));
+        assertTrue(issueListVersionService.isNotModified("W/\"1-7\"", "\"1-7\""));
+        assertTrue(issueListVersionService.isNotModified("\"1-5\", \"1-7\"", "\"1-7\""));
+        assertTrue(issueListVersionService.isNotModified("*", "\"1-7\""));
+        assertEquals(4.0, meterRegistry.counter("department.issues.conditional_reads", "outcome", "not_modified").count());
+    }
+
+    @Test
+    void isNotModified_staleOrMissingETag_returnsFalse() {
+        // Act & Assert
+        assertFalse(issueListVersionService.isNotModified("\"1-6\"", "\"1-7\""));
+        assertFalse(issueListVersionService.isNotModified(null, "\"1-7\""));
+        assertEquals(1.0, meterRegistry.counter("department.issues.conditional_reads", "outcome", "modified").count());
+        assertEquals(1.0, meterRegistry.counter("department.issues.conditional_reads", "outcome", "unconditional").count());
+    }
+
+    @Test
+    void bumpVersion_incrementsStoredVersion() {
+        // Act
+        issueListVersionService.bumpVersion(1L);
+
+        // Assert
+        verify(departmentIssueVersionRepository).incrementVersion(1L);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.departmentservice.service;
+
+import com.example.departmentservice.dto.IssueTileDto;
+import com.example.departmentservice.model.DepartmentIssue;
+import com.example.departmentservice.model.DepartmentIssueId;
+import com.example.departmentservice.model.IssueTileCount;
+import com.example.departmentservice.model.IssueTileCountId;
+import com.example.departmentservice.repository.IssueTileCountRepository;
+import com.example.departmentservice.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class IssueTileServiceUnitTest {
+
+    @Mock
+    private IssueTileCountRepository issueTileCountRepository;
+
+    private IssueTileService issueTileService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        issueTileService = new IssueTileService(issueTileCountRepository, new ShardRouter(false, List.of()), 12, 18);
+    }
+
+    @Test
+    void recordIssue_withCoordinates_incrementsOneTilePerZoomLevel() {
+        // Arrange
+        DepartmentIssue issue = issue(39.9334, 32.8597, "Electrical", "PENDING");
+
+        // Act
+        issueTileService.recordIssue(issue);
+
+        // Assert
+        verify(issueTileCountRepository, times(7)).incrementTileCount(eq(1L), anyInt(), anyInt(), anyInt(), eq("Electrical"), eq("PENDING"));
+        verify(issueTileCountRepository).incrementTileCount(1L, 12, 2421, 1551, "Electrical", "PENDING");
+        verify(issueTileCountRepository).incrementTileCount(1L, 18, 154999, 99305, "Electrical", "PENDING");
+    }
+
+    @Test
+    void recordIssue_withoutCoordinates_isSkipped() {
+        // Arrange
+        DepartmentIssue issue = issue(null, null, "Electrical", "PENDING");
+
+        // Act
+        issueTileService.recordIssue(issue);
+
+        // Assert
+        verifyNoInteractions(issueTileCountRepository);
+    }
+
+    @Test
+    void recordIssue_missingCategoryAndStatus_areCountedAsUnknown() {
+        // Arrange
+        DepartmentIssue issue = issue(39.9334, 32.8597, null, " ");
+
+        // Act
+        issueTileService.recordIssue(issue);
+
+        // Assert
+        verify(issueTileCountRepository, times(7)).incrementTileCount(eq(1L), anyInt(), anyInt(), anyInt(), eq("UNKNOWN"), eq("UNKNOWN"));
+    }
+
+    @Test
+    void getTileForDepartment_sumsCountsByCategoryAndStatus() {
+        // Arrange
+        when(issueTileCountRepository.findByIdDepartmentIdAndIdZoomAndIdTileXAndIdTileY(1L, 16, 38744, 24842)).thenReturn(Arrays.asList(
+                tileCount("Electrical", "PENDING", 2L),
+                tileCount("Electrical", "RESOLVED", 1L),
+                tileCount("Plumbing", "PENDING", 4L)
+        ));
+
+        // Act
+        IssueTileDto tile = issueTileService.getTileForDepartment(1L, 16, 38744, 24842);
+
+        // Assert
+        assertEquals(7L, tile.getTotal());
+        assertEquals(3L, tile.getByCategory().get("Electrical"));
+        assertEquals(4L, tile.getByCategory().get("Plumbing"));
+        assertEquals(6L, tile.getByStatus().get("PENDING"));
+        assertEquals(1L, tile.getByStatus().get("RESOLVED"));
+    }
+
+    @Test
+    void getTile_withShards_mergesCountsFromEveryShard() {
+        // Arrange
+        ShardRouter shardRouter = new ShardRouter(true, List.of("jdbc:shard-0", "jdbc:shard-1"));
+        IssueTileService shardedTileService = new IssueTileService(issueTileCountRepository, shardRouter, 12, 18);
+        when(issueTileCountRepository.findByIdZoomAndIdTileXAndIdTileY(16, 38744, 24842)).thenReturn(Arrays.asList(
+                tileCount("Electrical", "PENDING", 2L),
+                tileCount("Plumbing", "PENDING", 1L)
+        ));
+
+        // Act
+        IssueTileDto tile = shardedTileService.getTile(16, 38744, 24842);
+
+        // Assert
+        verify(issueTileCountRepository, times(2)).findByIdZoomAndIdTileXAndIdTileY(16, 38744, 24842);
+        assertEquals(6L, tile.getTotal());
+        assertEquals(4L, tile.getByCategory().get("Electrical"));
+        assertEquals(6L, tile.getByStatus().get("PENDING"));
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void getTile_zoomOutsideMaintainedLevels_throwsBadRequest() {
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> issueTileService.getTile(5, 0, 0));
+        verifyNoInteractions(issueTileCountRepository);
+    }
+
+    @Test
+    void getTile_tileOutsideZoomLevel_throwsBadRequest() {
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> issueTileService.getTile(12, 4096, 0));
+        verifyNoInteractions(issueTileCountRepository);
+    }
+
+    private DepartmentIssue issue(Double latitude, Double longitude, String category, String status) {
+        DepartmentIssue issue = new DepartmentIssue();
+        issue.setId(new DepartmentIssueId(1L, "issue-1"));
+        issue.setLatitude(latitude);
+        issue.setLongitude(longitude);
+        issue.setCategory(category);
+        issue.setStatus(status);
+        return issue;
+    }
+
+    private IssueTileCount tileCount(String category, String status, Long count) {
+        return new IssueTileCount(new IssueTileCountId(1L, 16, 38744, 24842, category, status), count);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.departmentservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_concurrentIdenticalCalls_shareOneLoad() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute("getDepartmentById", () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return "IT";
+        }, 1L)));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> coalescer.execute("getDepartmentById", () -> {
+                loads.incrementAndGet();
+                return "IT";
+            }, 1L)));
+        }
+        awaitFollowers(coalescer, 7);
+        releaseLoader.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("IT", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.counter("department.coalescing.calls", "outcome", "leader").count());
+        assertEquals(7, meterRegistry.counter("department.coalescing.calls", "outcome", "coalesced").count());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_differentArguments_areNotCoalesced() {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5000);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        coalescer.execute("getDepartmentById", loads::incrementAndGet, 1L);
+        coalescer.execute("getDepartmentById", loads::incrementAndGet, 2L);
+        coalescer.execute("getDepartmentById", loads::incrementAndGet, 1L);
+
+        // Assert
+        assertEquals(3, loads.get());
+        assertEquals(3, meterRegistry.counter("department.coalescing.calls", "outcome", "leader").count());
+    }
+
+    @Test
+    void execute_leaderFails_followersSeeSameException() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 5000);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<Object> leader = executor.submit(() -> coalescer.execute("getDepartmentById", () -> {
+            loaderStarted.countDown();
+            await(releaseLoader);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Department not found with id: 99");
+        }, 99L));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = executor.submit(() -> coalescer.execute("getDepartmentById", () -> "unexpected", 99L));
+        awaitFollowers(coalescer, 1);
+        releaseLoader.countDown();
+
+        // Assert
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResponseStatusException.class, leaderFailure.getCause());
+        assertInstanceOf(ResponseStatusException.class, followerFailure.getCause());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_leaderSlowerThanMaxWait_followerLoadsItself() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 50);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> coalescer.execute("getIssuesForDepartment", () -> {
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return "slow";
+        }, 1L));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        String result = coalescer.execute("getIssuesForDepartment", () -> "own", 1L);
+
+        // Assert
+        assertEquals("own", result);
+        assertEquals(1, meterRegistry.counter("department.coalescing.calls", "outcome", "timeout").count());
+        releaseLoader.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_disabled_alwaysRunsLoader() {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, false, 5000);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        coalescer.execute("getDepartmentById", loads::incrementAndGet, 1L);
+        coalescer.execute("getDepartmentById", loads::incrementAndGet, 1L);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(0, meterRegistry.counter("department.coalescing.calls", "outcome", "leader").count());
+    }
+
+    static void awaitFollowers(RequestCoalescer coalescer, int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.waitingFollowers() < followers && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(followers, coalescer.waitingFollowers());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
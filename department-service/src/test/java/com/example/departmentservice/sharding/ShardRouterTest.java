@@ -0,0 +1,101 @@
+package com.example.departmentservice.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardRouterTest {
+
+    private final ShardRouter shardRouter = new ShardRouter(true, List.of("jdbc:a", "jdbc:b", "jdbc:c"));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void shardFor_spreadsDepartmentsAcrossAllShards() {
+        // Act
+        int[] departmentsPerShard = new int[3];
+        for (long departmentId = 1; departmentId <= 300; departmentId++) {
+            departmentsPerShard[shardRouter.shardFor(departmentId)]++;
+        }
+
+        // Assert
+        assertArrayEquals(new int[]{100, 100, 100}, departmentsPerShard);
+        assertEquals(shardRouter.shardFor(42L), shardRouter.shardFor(42L));
+    }
+
+    @Test
+    void onShardFor_routesOnlyWhileActionRuns() {
+        // Act
+        Integer shardDuringAction = shardRouter.onShardFor(5L, shardRouter::currentShard);
+
+        // Assert
+        assertEquals(shardRouter.shardFor(5L), shardDuringAction);
+        assertNull(shardRouter.currentShard());
+    }
+
+    @Test
+    void onAllShards_runsOncePerShardAndKeepsShardOrder() {
+        // Arrange
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // Act
+        List<Integer> shards = shardRouter.onAllShards(() -> {
+            threads.add(Thread.currentThread().getName());
+            return shardRouter.currentShard();
+        });
+
+        // Assert
+        assertEquals(List.of(0, 1, 2), shards);
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void onEachShard_runsEveryShardOnCallingThread() {
+        // Arrange
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // Act
+        List<Integer> shards = shardRouter.onEachShard(() -> {
+            threads.add(Thread.currentThread().getName());
+            return shardRouter.currentShard();
+        });
+
+        // Assert
+        assertEquals(List.of(0, 1, 2), shards);
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+        assertNull(shardRouter.currentShard());
+    }
+
+    @Test
+    void onShardFor_differentShardInsideTransaction_isRejected() {
+        // Arrange
+        long departmentOnOtherShard = 1L;
+        assertNotEquals(0, shardRouter.shardFor(departmentOnOtherShard));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> shardRouter.onShardFor(departmentOnOtherShard, () -> "x"));
+    }
+
+    @Test
+    void disabled_runsActionOnceOnDefaultShard() {
+        // Arrange
+        ShardRouter disabled = new ShardRouter(false, List.of("jdbc:a", "jdbc:b"));
+
+        // Act & Assert
+        assertEquals(1, disabled.getShardCount());
+        assertNull(disabled.onShardFor(7L, disabled::currentShard));
+        assertEquals(List.of("only"), disabled.onAllShards(() -> "only"));
+        assertEquals(List.of("only"), disabled.onEachShard(() -> "only"));
+    }
+}
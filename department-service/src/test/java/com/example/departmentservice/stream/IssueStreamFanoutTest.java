@@ -0,0 +1,108 @@
+package com.example.departmentservice.stream;
+
+import com.example.departmentservice.config.RabbitMQConfig;
+import com.example.departmentservice.dto.IssueDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.net.ConnectException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class IssueStreamFanoutTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private IssueStreamRegistry issueStreamRegistry;
+
+    @Mock
+    private ObjectProvider<IssueStreamFanout> fanoutProvider;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private IssueStreamFanout issueStreamFanout;
+    private IssueStreamPublisher issueStreamPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        issueStreamFanout = new IssueStreamFanout(rabbitTemplate, issueStreamRegistry, objectMapper);
+        when(fanoutProvider.getIfAvailable()).thenReturn(issueStreamFanout);
+        issueStreamPublisher = new IssueStreamPublisher(issueStreamRegistry, fanoutProvider, meterRegistry);
+    }
+
+    @Test
+    void onIssueIngested_sendsToExchangeAndEveryPodPublishesWhatItReceives() {
+        // Arrange
+        IssueIngestedEvent event = new IssueIngestedEvent(issue(), "issue-1");
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+
+        // Act: this pod only sends; the copy it receives back is what reaches its subscribers
+        issueStreamPublisher.onIssueIngested(event);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.ISSUE_STREAM_EXCHANGE), eq(""), message.capture());
+        verifyNoInteractions(issueStreamRegistry);
+        issueStreamFanout.receive((String) message.getValue());
+
+        // Assert
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(issueStreamRegistry).publish(eq(7L), eq(IssueStreamPublisher.DUPLICATE_EVENT), published.capture());
+        IssueIngestedEvent received = (IssueIngestedEvent) published.getValue();
+        assertEquals("issue-2", received.issue().getId());
+        assertEquals("issue-1", received.canonicalIssueId());
+        assertEquals(event.issue().getCreatedAt(), received.issue().getCreatedAt());
+    }
+
+    @Test
+    void onIssueIngested_brokerUnavailable_deliversToThisPod() {
+        // Arrange
+        doThrow(new AmqpConnectException(new ConnectException("connection refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        // Act
+        issueStreamPublisher.onIssueIngested(new IssueIngestedEvent(issue(), null));
+
+        // Assert
+        verify(issueStreamRegistry).publish(eq(7L), eq(IssueStreamPublisher.ISSUE_EVENT), any());
+        assertEquals(1.0, meterRegistry.counter("department.stream.fanout.failures").count());
+    }
+
+    @Test
+    void onIssueIngested_fanoutDisabled_publishesLocally() {
+        // Arrange
+        when(fanoutProvider.getIfAvailable()).thenReturn(null);
+        IssueStreamPublisher localPublisher = new IssueStreamPublisher(issueStreamRegistry, fanoutProvider, meterRegistry);
+
+        // Act
+        localPublisher.onIssueIngested(new IssueIngestedEvent(issue(), null));
+
+        // Assert
+        verify(issueStreamRegistry).publish(eq(7L), eq(IssueStreamPublisher.ISSUE_EVENT), any());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    private static IssueDto issue() {
+        IssueDto issueDto = new IssueDto();
+        issueDto.setId("issue-2");
+        issueDto.setDepartmentId(7L);
+        issueDto.setCategory("Electrical");
+        issueDto.setCreatedAt(LocalDateTime.of(2026, 5, 1, 10, 0));
+        return issueDto;
+    }
+}
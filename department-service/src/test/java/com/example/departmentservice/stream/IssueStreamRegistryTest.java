@@ -0,0 +1,228 @@
+package com.example.departmentservice.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IssueStreamRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private IssueStreamRegistry registry(int bufferSize, Executor dispatcher) {
+        return new IssueStreamRegistry(meterRegistry, bufferSize, 16, dispatcher, 50, 8, () -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    @Test
+    void publish_tenThousandSubscribers_allReceiveEveryEvent() {
+        // Arrange
+        IssueStreamRegistry registry = registry(8, Runnable::run);
+        for (int i = 0; i < 10_000; i++) {
+            registry.subscribe(1L, null);
+        }
+        registry.subscribe(2L, null);
+
+        // Act
+        registry.publish(1L, "issue", "first");
+        registry.publish(1L, "issue", "second");
+
+        // Assert
+        assertEquals(10_001, registry.subscriberCount());
+        for (RecordingEmitter emitter : emitters.subList(0, 10_000)) {
+            assertEquals(List.of("1", "2"), emitter.eventIds());
+        }
+        assertTrue(emitters.get(10_000).eventIds().isEmpty());
+        assertEquals(2.0, meterRegistry.counter("department.stream.events.published").count());
+    }
+
+    @Test
+    void publish_subscriberBufferFull_disconnectsSlowSubscriber() {
+        // Arrange: the dispatcher never runs, so nothing is drained
+        List<Runnable> pendingDrains = new ArrayList<>();
+        IssueStreamRegistry registry = registry(2, pendingDrains::add);
+        registry.subscribe(1L, null);
+
+        // Act
+        registry.publish(1L, "issue", "first");
+        registry.publish(1L, "issue", "second");
+        registry.publish(1L, "issue", "third");
+
+        // Assert
+        assertEquals(0, registry.subscriberCount());
+        assertTrue(emitters.get(0).completed);
+        assertEquals(1.0, meterRegistry.counter("department.stream.subscribers.dropped", "reason", "slow").count());
+    }
+
+    @Test
+    void publish_sendFails_removesSubscriber() {
+        // Arrange
+        IssueStreamRegistry registry = registry(8, Runnable::run);
+        registry.subscribe(1L, null);
+        emitters.get(0).failSends = true;
+
+        // Act
+        registry.publish(1L, "issue", "first");
+
+        // Assert
+        assertEquals(0, registry.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("department.stream.subscribers.dropped", "reason", "error").count());
+    }
+
+    @Test
+    void subscribe_withLastEventId_replaysOnlyMissedEvents() {
+        // Arrange
+        IssueStreamRegistry registry = registry(8, Runnable::run);
+        registry.publish(1L, "issue", "first");
+        registry.publish(1L, "issue", "second");
+        registry.publish(1L, "issue", "third");
+
+        // Act
+        registry.subscribe(1L, "1");
+        registry.subscribe(1L, null);
+        registry.subscribe(1L, "99");
+        registry.publish(1L, "issue", "fourth");
+
+        // Assert
+        assertEquals(List.of("2", "3", "4"), emitters.get(0).eventIds());
+        assertEquals(List.of("4"), emitters.get(1).eventIds());
+        assertEquals(List.of("1", "2", "3", "4"), emitters.get(2).eventIds());
+    }
+
+    @Test
+    void subscribe_replayLargerThanBuffer_sendsNewestEventsOnly() {
+        // Arrange
+        IssueStreamRegistry registry = registry(2, Runnable::run);
+        for (int i = 0; i < 5; i++) {
+            registry.publish(1L, "issue", "event-" + i);
+        }
+
+        // Act
+        registry.subscribe(1L, "0");
+
+        // Assert
+        assertEquals(List.of("4", "5"), emitters.get(0).eventIds());
+        assertEquals(1, registry.subscriberCount());
+    }
+
+    @Test
+    void evictStuckWriters_blockedSend_otherSubscribersKeepReceiving() throws Exception {
+        // Arrange: a single dispatcher thread, taken by a client that stopped reading
+        ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        IssueStreamRegistry registry = registry(8, dispatcher);
+        registry.subscribe(1L, null);
+        for (int i = 0; i < 3; i++) {
+            registry.subscribe(1L, null);
+        }
+        RecordingEmitter stuck = emitters.get(0);
+        stuck.blockSends = new CountDownLatch(1);
+        registry.publish(1L, "issue", "first");
+        assertTrue(stuck.sendStarted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // Act
+        registry.evictStuckWriters();
+        registry.publish(1L, "issue", "second");
+
+        // Assert
+        for (RecordingEmitter emitter : emitters.subList(1, 4)) {
+            awaitEvents(emitter, 2);
+            assertEquals(List.of("1", "2"), emitter.eventIds());
+        }
+        assertEquals(3, registry.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("department.stream.subscribers.dropped", "reason", "stuck").count());
+        assertEquals(1.0, meterRegistry.get("department.stream.stuck_writers").gauge().value());
+
+        // Act: the blocked write finally returns
+        stuck.blockSends.countDown();
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stuck.completed && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(stuck.completed);
+        assertEquals(0.0, meterRegistry.get("department.stream.stuck_writers").gauge().value());
+        assertEquals(1, dispatcher.getMaximumPoolSize());
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    void evictStuckWriters_sendWithinDeadline_keepsSubscriber() throws Exception {
+        // Arrange
+        IssueStreamRegistry registry = registry(8, Runnable::run);
+        registry.subscribe(1L, null);
+        registry.publish(1L, "issue", "first");
+
+        // Act
+        registry.evictStuckWriters();
+
+        // Assert
+        assertEquals(1, registry.subscriberCount());
+        assertEquals(List.of("1"), emitters.get(0).eventIds());
+    }
+
+    private static void awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.eventIds().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private volatile CountDownLatch blockSends;
+        private boolean failSends;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("client went away");
+            }
+            sendStarted.countDown();
+            if (blockSends != null) {
+                try {
+                    blockSends.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        List<String> eventIds() {
+            return sent.stream()
+                    .map(text -> text.substring(text.indexOf("id:") + 3, text.indexOf('\n', text.indexOf("id:"))))
+                    .toList();
+        }
+    }
+}
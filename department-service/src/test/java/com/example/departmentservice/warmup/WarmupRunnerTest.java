@@ -0,0 +1,169 @@
+package com.example.departmentservice.warmup;
+
+import com.example.departmentservice.model.DepartmentIssueVersion;
+import com.example.departmentservice.repository.DepartmentIssueRepository;
+import com.example.departmentservice.repository.DepartmentIssueVersionRepository;
+import com.example.departmentservice.repository.DepartmentRepository;
+import com.example.departmentservice.service.DepartmentIssueService;
+import com.example.departmentservice.service.DepartmentService;
+import com.example.departmentservice.service.IssueListVersionService;
+import com.example.departmentservice.service.IssueTileService;
+import com.example.departmentservice.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WarmupRunnerTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private DepartmentRepository departmentRepository;
+    @Mock
+    private DepartmentIssueRepository departmentIssueRepository;
+    @Mock
+    private DepartmentIssueVersionRepository departmentIssueVersionRepository;
+    @Mock
+    private DepartmentService departmentService;
+    @Mock
+    private DepartmentIssueService departmentIssueService;
+    @Mock
+    private IssueListVersionService issueListVersionService;
+    @Mock
+    private IssueTileService issueTileService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void run_repeatsEveryStepAndRecordsFirstAndLastCall() throws Exception {
+        // Arrange
+        WarmupRunner warmupRunner = warmupRunner(true, 60000);
+
+        // Act
+        warmupRunner.run(null);
+
+        // Assert
+        verify(dataSource, times(3)).getConnection();
+        verify(connection, times(3)).close();
+        verify(departmentRepository, times(5)).findAll();
+        verify(departmentIssueRepository, times(5)).findByIdDepartmentId(0L);
+        verify(issueTileService, times(5)).getTile(12, 0, 0);
+        assertTrue(warmupRunner.firstCallNanos().containsKey("controller.getDepartmentIssues"));
+        assertEquals(warmupRunner.firstCallNanos().keySet(), warmupRunner.lastCallNanos().keySet());
+        assertNotNull(meterRegistry.find("department.warmup.step.first").tag("step", "departments.findAll").timeGauge());
+        assertEquals(1, meterRegistry.get("department.warmup.duration").tag("phase", "total").timer().count());
+    }
+
+    @Test
+    void run_preloadsMostRecentlyUpdatedDepartments() throws Exception {
+        // Arrange
+        when(departmentIssueVersionRepository.findByOrderByUpdatedAtDesc(any())).thenReturn(List.of(
+                version(7L, LocalDateTime.now().minusMinutes(5)),
+                version(3L, LocalDateTime.now())));
+        WarmupRunner warmupRunner = warmupRunner(true, 60000);
+
+        // Act
+        warmupRunner.run(null);
+
+        // Assert
+        verify(departmentService).getDepartmentById(3L);
+        verify(departmentService).getDepartmentById(7L);
+        verify(departmentIssueService).getCanonicalIssuesForDepartment(7L);
+        verify(departmentIssueRepository, times(5)).findByIdDepartmentId(3L);
+    }
+
+    @Test
+    void run_hotDepartmentWithoutDepartmentRow_preloadsIssuesWithoutCountingFailure() throws Exception {
+        // Arrange
+        when(departmentIssueVersionRepository.findByOrderByUpdatedAtDesc(any())).thenReturn(List.of(
+                version(7L, LocalDateTime.now())));
+        when(issueListVersionService.currentVersion(7L)).thenReturn(4L);
+        when(departmentService.getDepartmentById(7L))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Department not found with id: 7"));
+        WarmupRunner warmupRunner = warmupRunner(true, 60000);
+
+        // Act
+        warmupRunner.run(null);
+
+        // Assert: five query-phase iterations on the sample department, then one preload
+        verify(departmentIssueService, times(6)).getIssuesForDepartment(7L, true, 4L);
+        verify(departmentIssueService, times(6)).getCanonicalIssuesForDepartment(7L);
+        assertEquals(0.0, meterRegistry.get("department.warmup.failures").counter().count());
+    }
+
+    @Test
+    void run_skipsFailingStepsWithoutFailingStartup() throws Exception {
+        // Arrange
+        when(departmentRepository.findAll()).thenThrow(new IllegalStateException("database down"));
+        WarmupRunner warmupRunner = warmupRunner(true, 60000);
+
+        // Act
+        warmupRunner.run(null);
+
+        // Assert
+        verify(departmentRepository, times(1)).findAll();
+        verify(issueTileService, times(5)).getTile(12, 0, 0);
+        assertFalse(warmupRunner.firstCallNanos().containsKey("departments.findAll"));
+        assertTrue(meterRegistry.get("department.warmup.failures").counter().count() >= 1);
+    }
+
+    @Test
+    void run_stopsWhenTimeBudgetIsSpent() throws Exception {
+        // Arrange
+        WarmupRunner warmupRunner = warmupRunner(true, 0);
+
+        // Act
+        warmupRunner.run(null);
+
+        // Assert
+        verify(departmentRepository, never()).findAll();
+        verify(issueTileService, never()).getTile(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void run_doesNothingWhenDisabled() throws Exception {
+        // Arrange
+        WarmupRunner warmupRunner = warmupRunner(false, 60000);
+
+        // Act
+        warmupRunner.run(null);
+
+        // Assert
+        verifyNoInteractions(dataSource, departmentRepository, departmentIssueRepository, departmentService);
+    }
+
+    private WarmupRunner warmupRunner(boolean enabled, long maxDurationMillis) {
+        return new WarmupRunner(dataSource, departmentRepository, departmentIssueRepository,
+                departmentIssueVersionRepository, departmentService, departmentIssueService, issueListVersionService,
+                issueTileService, new ShardRouter(false, List.of()), new ObjectMapper().findAndRegisterModules(),
+                meterRegistry, enabled, 5, 3, 10, maxDurationMillis, 12);
+    }
+
+    private static DepartmentIssueVersion version(Long departmentId, LocalDateTime updatedAt) {
+        DepartmentIssueVersion version = new DepartmentIssueVersion();
+        version.setDepartmentId(departmentId);
+        version.setUpdatedAt(updatedAt);
+        return version;
+    }
+}